@@ -0,0 +1,113 @@
+-- Atualiza um banco criado com a versão anterior do script_vulpix_db.sql.
+-- Pode ser executado mais de uma vez: cada passo só cria o que ainda não existe.
+-- Para instalações novas use apenas o script_vulpix_db.sql.
+
+BEGIN;
+
+-- Sincronização incremental de posts
+ALTER TABLE integracao ADD COLUMN IF NOT EXISTS ultimo_post_sincronizado TIMESTAMP WITH TIME ZONE;
+ALTER TABLE integracao ADD COLUMN IF NOT EXISTS ultima_sincronizacao TIMESTAMP;
+
+-- Publicação assíncrona (fila, tentativas e container da Graph API)
+ALTER TABLE publicacao ADD COLUMN IF NOT EXISTS id_container VARCHAR(255);
+ALTER TABLE publicacao ADD COLUMN IF NOT EXISTS container_criado_em TIMESTAMP;
+ALTER TABLE publicacao ADD COLUMN IF NOT EXISTS tentativas INTEGER DEFAULT 0;
+ALTER TABLE publicacao ADD COLUMN IF NOT EXISTS erro_publicacao TEXT;
+ALTER TABLE publicacao ADD COLUMN IF NOT EXISTS proxima_tentativa TIMESTAMP;
+ALTER TABLE publicacao ADD COLUMN IF NOT EXISTS atualizado_em TIMESTAMP;
+
+-- O upsert da sincronização depende de id_returned único dentro de cada empresa. Antes do índice, remove as
+-- cópias de um mesmo post na mesma empresa mantendo a mais recente (os insights das cópias removidas saem junto
+-- pelo ON DELETE CASCADE); posts iguais em empresas diferentes são mantidos
+DELETE FROM publicacao p
+USING publicacao mais_recente
+WHERE p.id_returned IS NOT NULL
+  AND p.id_returned = mais_recente.id_returned
+  AND p.fk_empresa IS NOT DISTINCT FROM mais_recente.fk_empresa
+  AND (COALESCE(p.created_at, '-infinity'), p.id_publicacao)
+      < (COALESCE(mais_recente.created_at, '-infinity'), mais_recente.id_publicacao)
+  AND NOT EXISTS (SELECT 1 FROM pg_indexes WHERE indexname = 'ux_publicacao_empresa_id_returned');
+
+-- Versão anterior desta migração criava o índice único global em id_returned
+DROP INDEX IF EXISTS ux_publicacao_id_returned;
+CREATE UNIQUE INDEX IF NOT EXISTS ux_publicacao_empresa_id_returned ON publicacao (fk_empresa, id_returned);
+CREATE INDEX IF NOT EXISTS ix_publicacao_empresa_data ON publicacao (fk_empresa, data_agendamento, id_publicacao) INCLUDE (total_like);
+CREATE INDEX IF NOT EXISTS ix_publicacao_fila ON publicacao (status, proxima_tentativa) WHERE status IN ('PENDENTE', 'PUBLICANDO');
+CREATE INDEX IF NOT EXISTS ix_publicacao_agendada ON publicacao (status, data_agendamento) WHERE status = 'AGENDADA';
+
+CREATE INDEX IF NOT EXISTS ix_post_insights_publicacao_created_at ON post_insights (fk_publicacao, created_at);
+
+CREATE TABLE IF NOT EXISTS post_insights_latest (
+    fk_publicacao UUID PRIMARY KEY REFERENCES publicacao(id_publicacao) ON DELETE CASCADE,
+    fk_empresa UUID NOT NULL REFERENCES empresa(id_empresa) ON DELETE CASCADE,
+    id_insight UUID NOT NULL REFERENCES post_insights(id_insight) ON DELETE CASCADE,
+    likes INTEGER NOT NULL,
+    comments INTEGER NOT NULL,
+    shares INTEGER NOT NULL,
+    saves INTEGER NOT NULL,
+    impressions INTEGER NOT NULL,
+    profile_visits INTEGER NOT NULL,
+    follows INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_post_insights_latest_empresa ON post_insights_latest (fk_empresa);
+
+CREATE TABLE IF NOT EXISTS post_insights_daily (
+    fk_empresa UUID NOT NULL REFERENCES empresa(id_empresa) ON DELETE CASCADE,
+    dia DATE NOT NULL,
+    likes BIGINT NOT NULL,
+    impressions BIGINT NOT NULL,
+    shares BIGINT NOT NULL,
+    saves BIGINT NOT NULL,
+    comments BIGINT NOT NULL,
+    profile_visits BIGINT NOT NULL,
+    follows BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (fk_empresa, dia)
+);
+
+-- Exportações assíncronas
+CREATE TABLE IF NOT EXISTS tarefa_exportacao (
+    id_tarefa_exportacao UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    fk_empresa UUID NOT NULL REFERENCES empresa(id_empresa) ON DELETE CASCADE,
+    dataset VARCHAR(50) NOT NULL,
+    formato VARCHAR(50) NOT NULL,
+    gzip BOOLEAN NOT NULL DEFAULT FALSE,
+    data_inicio DATE,
+    data_fim DATE,
+    status VARCHAR(50) NOT NULL,
+    tentativas INTEGER DEFAULT 0,
+    linhas BIGINT NOT NULL DEFAULT 0,
+    tamanho_bytes BIGINT NOT NULL DEFAULT 0,
+    erro TEXT,
+    criada_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    atualizada_em TIMESTAMP,
+    concluida_em TIMESTAMP
+);
+
+-- Fila de exportacoes assincronas: so as linhas pendentes ou em andamento entram no indice
+CREATE INDEX IF NOT EXISTS ix_tarefa_exportacao_fila ON tarefa_exportacao (status, atualizada_em) WHERE status IN ('PENDENTE', 'EM_ANDAMENTO');
+CREATE INDEX IF NOT EXISTS ix_tarefa_exportacao_concluida ON tarefa_exportacao (concluida_em);
+
+-- Carga inicial do último snapshot de cada post a partir do histórico já existente
+INSERT INTO post_insights_latest (fk_publicacao, fk_empresa, id_insight, likes, comments, shares, saves,
+                                  impressions, profile_visits, follows, created_at)
+SELECT DISTINCT ON (pi.fk_publicacao)
+    pi.fk_publicacao,
+    p.fk_empresa,
+    pi.id_insight,
+    COALESCE(pi.likes, 0),
+    COALESCE(pi.comments, 0),
+    COALESCE(pi.shares, 0),
+    COALESCE(pi.saves, 0),
+    COALESCE(pi.impressions, 0),
+    COALESCE(pi.profile_visits, 0),
+    COALESCE(pi.follows, 0),
+    COALESCE(pi.created_at, CURRENT_TIMESTAMP)
+FROM post_insights pi
+JOIN publicacao p ON p.id_publicacao = pi.fk_publicacao
+ORDER BY pi.fk_publicacao, pi.created_at DESC NULLS LAST
+ON CONFLICT (fk_publicacao) DO NOTHING;
+
+COMMIT;
@@ -53,6 +53,8 @@ CREATE TABLE integracao (
     access_token VARCHAR(255),
     access_token_expire_date TIMESTAMP,
     status BOOLEAN,
+    ultimo_post_sincronizado TIMESTAMP WITH TIME ZONE,
+    ultima_sincronizacao TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     fk_empresa UUID REFERENCES empresa(id_empresa) ON DELETE CASCADE
@@ -70,9 +72,24 @@ CREATE TABLE publicacao (
     status VARCHAR(50),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     id_returned VARCHAR(255),
+    id_container VARCHAR(255),
+    container_criado_em TIMESTAMP,
+    tentativas INTEGER DEFAULT 0,
+    erro_publicacao TEXT,
+    proxima_tentativa TIMESTAMP,
+    atualizado_em TIMESTAMP,
     fk_empresa UUID REFERENCES empresa(id_empresa) ON DELETE CASCADE
 );
 
+-- O id do post no Instagram é único dentro de cada empresa (chave do upsert da sincronização)
+CREATE UNIQUE INDEX ux_publicacao_empresa_id_returned ON publicacao (fk_empresa, id_returned);
+-- Cobre os filtros por empresa e período, a paginação por keyset (data, id) e as agregações de likes (index-only scan)
+CREATE INDEX ix_publicacao_empresa_data ON publicacao (fk_empresa, data_agendamento, id_publicacao) INCLUDE (total_like);
+-- Fila de publicacao assincrona: so as linhas pendentes ou em andamento entram no indice
+CREATE INDEX ix_publicacao_fila ON publicacao (status, proxima_tentativa) WHERE status IN ('PENDENTE', 'PUBLICANDO');
+-- Despacho das agendadas: busca so as vencidas, em ordem de horario, sem varrer as ja publicadas
+CREATE INDEX ix_publicacao_agendada ON publicacao (status, data_agendamento) WHERE status = 'AGENDADA';
+
 CREATE TABLE criativo (
     id_criativo UUID PRIMARY KEY DEFAULT gen_random_uuid(),
     image_url TEXT,
@@ -103,3 +120,60 @@ CREATE TABLE post_insights (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     fk_publicacao UUID REFERENCES publicacao(id_publicacao) ON DELETE CASCADE
 );
+
+CREATE INDEX ix_post_insights_publicacao_created_at ON post_insights (fk_publicacao, created_at);
+
+-- Último snapshot de cada post, mantido pelo pipeline de insights a cada coleta
+CREATE TABLE post_insights_latest (
+    fk_publicacao UUID PRIMARY KEY REFERENCES publicacao(id_publicacao) ON DELETE CASCADE,
+    fk_empresa UUID NOT NULL REFERENCES empresa(id_empresa) ON DELETE CASCADE,
+    id_insight UUID NOT NULL REFERENCES post_insights(id_insight) ON DELETE CASCADE,
+    likes INTEGER NOT NULL,
+    comments INTEGER NOT NULL,
+    shares INTEGER NOT NULL,
+    saves INTEGER NOT NULL,
+    impressions INTEGER NOT NULL,
+    profile_visits INTEGER NOT NULL,
+    follows INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX ix_post_insights_latest_empresa ON post_insights_latest (fk_empresa);
+
+-- Resumo diário de engajamento por empresa (variação do dia somada entre os posts)
+CREATE TABLE post_insights_daily (
+    fk_empresa UUID NOT NULL REFERENCES empresa(id_empresa) ON DELETE CASCADE,
+    dia DATE NOT NULL,
+    likes BIGINT NOT NULL,
+    impressions BIGINT NOT NULL,
+    shares BIGINT NOT NULL,
+    saves BIGINT NOT NULL,
+    comments BIGINT NOT NULL,
+    profile_visits BIGINT NOT NULL,
+    follows BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (fk_empresa, dia)
+);
+
+-- Exportações assíncronas (status persistido; o arquivo fica no diretório configurado em exportacao.diretorio)
+CREATE TABLE tarefa_exportacao (
+    id_tarefa_exportacao UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    fk_empresa UUID NOT NULL REFERENCES empresa(id_empresa) ON DELETE CASCADE,
+    dataset VARCHAR(50) NOT NULL,
+    formato VARCHAR(50) NOT NULL,
+    gzip BOOLEAN NOT NULL DEFAULT FALSE,
+    data_inicio DATE,
+    data_fim DATE,
+    status VARCHAR(50) NOT NULL,
+    tentativas INTEGER DEFAULT 0,
+    linhas BIGINT NOT NULL DEFAULT 0,
+    tamanho_bytes BIGINT NOT NULL DEFAULT 0,
+    erro TEXT,
+    criada_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    atualizada_em TIMESTAMP,
+    concluida_em TIMESTAMP
+);
+
+-- Fila de exportacoes assincronas: so as linhas pendentes ou em andamento entram no indice
+CREATE INDEX ix_tarefa_exportacao_fila ON tarefa_exportacao (status, atualizada_em) WHERE status IN ('PENDENTE', 'EM_ANDAMENTO');
+CREATE INDEX ix_tarefa_exportacao_concluida ON tarefa_exportacao (concluida_em);
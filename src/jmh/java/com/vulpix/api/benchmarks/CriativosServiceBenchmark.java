@@ -0,0 +1,34 @@
+package com.vulpix.api.benchmarks;
+
+import com.vulpix.api.dto.criativo.CriativoResponseDto;
+import com.vulpix.api.entity.Criativo;
+import com.vulpix.api.service.integracoes.agentai.CriativosService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CriativosServiceBenchmark {
+    @Param({"40", "400"})
+    private int quantidadeCriativos;
+
+    private CriativosService criativosService;
+    private List<Criativo> criativos;
+
+    @Setup
+    public void preparar() {
+        criativosService = new CriativosService();
+        criativos = DadosBenchmark.criativos(quantidadeCriativos);
+    }
+
+    @Benchmark
+    public List<CriativoResponseDto> agruparCriativos() {
+        return criativosService.agruparCriativos(criativos);
+    }
+}
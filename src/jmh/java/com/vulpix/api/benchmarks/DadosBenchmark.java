@@ -0,0 +1,152 @@
+package com.vulpix.api.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vulpix.api.dto.empresa.FormularioRequisicaoDto;
+import com.vulpix.api.entity.Criativo;
+import com.vulpix.api.entity.Publicacao;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Massas de dados determinísticas usadas pelos benchmarks, no formato devolvido pela Graph API.
+ */
+final class DadosBenchmark {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String[] METRICAS = {"impressions", "saved", "likes", "comments", "shares", "profile_visits", "follows"};
+    private static final OffsetDateTime DATA_BASE = OffsetDateTime.of(2024, 11, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private DadosBenchmark() {
+    }
+
+    static List<Publicacao> publicacoes(int quantidade) {
+        List<Publicacao> publicacoes = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Publicacao publicacao = new Publicacao();
+            publicacao.setId(UUID.randomUUID());
+            publicacao.setIdReturned("1789" + String.format("%011d", i));
+            publicacoes.add(publicacao);
+        }
+        return publicacoes;
+    }
+
+    static String respostaLoteInsights(int quantidade) {
+        List<Map<String, Object>> itens = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            List<Map<String, Object>> metricas = new ArrayList<>();
+            for (int m = 0; m < METRICAS.length; m++) {
+                metricas.add(Map.of(
+                        "name", METRICAS[m],
+                        "period", "lifetime",
+                        "values", List.of(Map.of("value", (i + 1) * (m + 3))),
+                        "id", "1789" + i + "/insights/" + METRICAS[m] + "/lifetime"));
+            }
+
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("code", 200);
+            item.put("headers", List.of(Map.of("name", "Content-Type", "value", "application/json; charset=UTF-8")));
+            item.put("body", json(Map.of("data", metricas)));
+            itens.add(item);
+        }
+        return json(itens);
+    }
+
+    static String paginaMidias(int quantidade, boolean possuiProximaPagina) {
+        List<Map<String, Object>> posts = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Map<String, Object> post = new LinkedHashMap<>();
+            post.put("id", "1789" + String.format("%011d", i));
+            post.put("caption", "Legenda do post " + i + " com #hashtags, emojis 🎨 e uma chamada para ação.");
+            post.put("media_type", "IMAGE");
+            post.put("media_url", "https://scontent.cdninstagram.com/v/t51.29350-15/" + i + "_n.jpg?stp=dst-jpg&_nc_ht=scontent");
+            post.put("timestamp", DATA_BASE.minusHours(i).toString());
+            post.put("like_count", i * 7);
+            posts.add(post);
+        }
+
+        Map<String, Object> pagina = new LinkedHashMap<>();
+        pagina.put("data", posts);
+        Map<String, Object> paging = new LinkedHashMap<>();
+        paging.put("cursors", Map.of("before", "QVFIUmJ", "after", "QVFIUmx"));
+        if (possuiProximaPagina) {
+            paging.put("next", "https://graph.facebook.com/v17.0/1784/media?fields=id&limit=25&after=QVFIUmx");
+        }
+        pagina.put("paging", paging);
+        return json(pagina);
+    }
+
+    static List<Criativo> criativos(int quantidade) {
+        List<Criativo> criativos = new ArrayList<>();
+        LocalDateTime agora = DATA_BASE.toLocalDateTime();
+        for (int i = 0; i < quantidade; i++) {
+            criativos.add(Criativo.builder()
+                    .id(UUID.randomUUID())
+                    .imageUrl("https://cdn.leonardo.ai/users/imagens/" + i + ".jpg")
+                    .prompt("Prompt do conjunto " + (i / 4))
+                    .createdAt(agora.minusMinutes(i))
+                    .build());
+        }
+        return criativos;
+    }
+
+    static List<Publicacao> postsCsv(int quantidade) {
+        List<Publicacao> posts = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Publicacao publicacao = new Publicacao();
+            publicacao.setIdReturned("1789" + String.format("%011d", i));
+            publicacao.setLegenda(i % 3 == 0 ? "Legenda do post " + i + ", com vírgula e \"aspas\"\nem duas linhas" : "Legenda simples do post " + i);
+            publicacao.setTipoMidia("IMAGE");
+            publicacao.setUrlMidia("https://scontent.cdninstagram.com/v/" + i + "_n.jpg");
+            publicacao.setDataPublicacao(DATA_BASE.minusHours(i));
+            publicacao.setLikeCount(i * 7);
+            posts.add(publicacao);
+        }
+        return posts;
+    }
+
+    static FormularioRequisicaoDto formulario() {
+        return FormularioRequisicaoDto.builder()
+                .slogan("Tecnologia que aproxima")
+                .descricao("Empresa de software focada em marketing digital para pequenos negócios.")
+                .setor("Tecnologia")
+                .anoFundacao("2019")
+                .logotipo("https://cdn.vulpix.ai/logo.png")
+                .corPrimaria("#FF6B00")
+                .corSecundaria("#1A1A1A")
+                .fonte("Poppins")
+                .estiloVisual("Minimalista")
+                .publicoAlvo("Pequenos empreendedores entre 25 e 45 anos")
+                .problemasQueResolve("Falta de tempo para produzir conteúdo")
+                .expectativaDoCliente("Posts consistentes e com boa estética")
+                .produtoEmpresa("Plataforma SaaS")
+                .diferencialSolucao("Geração de criativos com IA")
+                .concorrentes("Agências locais")
+                .pontosFortes("Velocidade e custo")
+                .desafiosEnfrentados("Aquisição de clientes")
+                .redesSociais("Instagram")
+                .tonalidadeComunicacao("Próxima e descontraída")
+                .tiposConteudo("Carrossel, imagem única")
+                .objetivoMarketing("Aumentar reconhecimento de marca")
+                .resultadosEsperados("Mais seguidores e leads")
+                .datasImportantes("Black Friday, Natal")
+                .estiloCriativos("Cores vibrantes")
+                .referenciasVisuais("https://www.instagram.com/vulpix.ai")
+                .observacoesGerais("Nenhuma")
+                .build();
+    }
+
+    private static String json(Object valor) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
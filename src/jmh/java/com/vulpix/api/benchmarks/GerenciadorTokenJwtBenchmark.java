@@ -0,0 +1,70 @@
+package com.vulpix.api.benchmarks;
+
+import com.vulpix.api.config.security.jwt.GerenciadorTokenJwt;
+import com.vulpix.api.dto.usuario.UsuarioDetalhesDto;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GerenciadorTokenJwtBenchmark {
+    private static final String SEGREDO = "segredo-de-benchmark-com-pelo-menos-32-caracteres";
+
+    private GerenciadorTokenJwt gerenciador;
+    private Authentication autenticacao;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        gerenciador = new GerenciadorTokenJwt(SEGREDO, 3600);
+
+        UsuarioDetalhesDto usuario = new UsuarioDetalhesDto(UUID.randomUUID(), "benchmark@vulpix.ai",
+                UUID.randomUUID(), List.of());
+        autenticacao = new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities());
+        token = gerenciador.generateToken(autenticacao);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return gerenciador.generateToken(autenticacao);
+    }
+
+    @Benchmark
+    public Claims validarToken() {
+        return gerenciador.validarToken(token);
+    }
+
+    /**
+     * Caminho anterior do filtro: chave e parser recriados a cada leitura e o token
+     * verificado três vezes (usuário, validação do usuário e expiração).
+     */
+    @Benchmark
+    public boolean validarTokenSemCache() {
+        String username = parseSemCache(token).getSubject();
+        boolean mesmoUsuario = parseSemCache(token).getSubject().equals(username);
+        Date expiracao = parseSemCache(token).getExpiration();
+        return mesmoUsuario && !expiracao.before(new Date());
+    }
+
+    private Claims parseSemCache(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SEGREDO.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
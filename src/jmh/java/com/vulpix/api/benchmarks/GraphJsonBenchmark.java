@@ -0,0 +1,43 @@
+package com.vulpix.api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vulpix.api.entity.Publicacao;
+import com.vulpix.api.service.integracoes.graph.GraphClient;
+import com.vulpix.api.service.integracoes.graph.GraphJson;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphJsonBenchmark {
+    @Param({"25", "100"})
+    private int postsPorPagina;
+
+    private GraphJson graphJson;
+    private String pagina;
+    private String respostaLote;
+
+    @Setup
+    public void preparar() {
+        graphJson = new GraphJson(new ObjectMapper());
+        pagina = DadosBenchmark.paginaMidias(postsPorPagina, true);
+        respostaLote = DadosBenchmark.respostaLoteInsights(postsPorPagina);
+    }
+
+    @Benchmark
+    public GraphClient.Pagina<Publicacao> lerPaginaMidias() throws IOException {
+        return graphJson.lerPaginaMidias(pagina);
+    }
+
+    @Benchmark
+    public List<String> lerCorposLote() throws IOException {
+        return graphJson.lerCorposLote(respostaLote);
+    }
+}
@@ -0,0 +1,42 @@
+package com.vulpix.api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vulpix.api.entity.PostInsights;
+import com.vulpix.api.entity.Publicacao;
+import com.vulpix.api.service.integracoes.graph.GraphJson;
+import com.vulpix.api.service.integracoes.graph.InsightService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsightServiceBenchmark {
+    @Param({"50"})
+    private int tamanhoLote;
+
+    private InsightService insightService;
+    private List<Publicacao> lote;
+    private String respostaLote;
+    private OffsetDateTime dataColeta;
+
+    @Setup
+    public void preparar() {
+        insightService = new InsightService(new GraphJson(new ObjectMapper()));
+        lote = DadosBenchmark.publicacoes(tamanhoLote);
+        respostaLote = DadosBenchmark.respostaLoteInsights(tamanhoLote);
+        dataColeta = OffsetDateTime.now();
+    }
+
+    @Benchmark
+    public List<PostInsights> lerRespostaLote() throws IOException {
+        return insightService.lerRespostaLote(respostaLote, lote, dataColeta);
+    }
+}
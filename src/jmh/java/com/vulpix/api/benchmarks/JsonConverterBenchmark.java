@@ -0,0 +1,39 @@
+package com.vulpix.api.benchmarks;
+
+import com.vulpix.api.dto.empresa.FormularioRequisicaoDto;
+import com.vulpix.api.utils.JsonConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonConverterBenchmark {
+    private FormularioRequisicaoDto formulario;
+    private String formularioJson;
+
+    @Setup
+    public void preparar() {
+        formulario = DadosBenchmark.formulario();
+        formularioJson = JsonConverter.toJson(formulario);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return JsonConverter.toJson(formulario);
+    }
+
+    @Benchmark
+    public FormularioRequisicaoDto fromJson() {
+        return JsonConverter.fromJson(formularioJson);
+    }
+
+    @Benchmark
+    public FormularioRequisicaoDto idaEVolta() {
+        return JsonConverter.fromJson(JsonConverter.toJson(formulario));
+    }
+}
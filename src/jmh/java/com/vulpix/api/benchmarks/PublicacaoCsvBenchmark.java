@@ -0,0 +1,38 @@
+package com.vulpix.api.benchmarks;
+
+import com.vulpix.api.entity.Publicacao;
+import com.vulpix.api.utils.PublicacaoCsv;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublicacaoCsvBenchmark {
+    @Param({"1000"})
+    private int quantidadePosts;
+
+    private List<Publicacao> posts;
+
+    @Setup
+    public void preparar() {
+        posts = DadosBenchmark.postsCsv(quantidadePosts);
+    }
+
+    @Benchmark
+    public int escreverLinhas() throws IOException {
+        StringWriter writer = new StringWriter(quantidadePosts * 128);
+        writer.write(PublicacaoCsv.CABECALHO);
+        for (Publicacao post : posts) {
+            PublicacaoCsv.escreverLinha(writer, post);
+        }
+        return writer.getBuffer().length();
+    }
+}
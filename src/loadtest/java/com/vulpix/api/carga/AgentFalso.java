@@ -0,0 +1,49 @@
+package com.vulpix.api.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Simula o agent Python de geração de conteúdo (prompt, criativos e legenda).
+ */
+final class AgentFalso extends ServidorFalso {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    AgentFalso(ComportamentoFalso comportamento) throws IOException {
+        super(comportamento);
+    }
+
+    @Override
+    protected Resposta responder(HttpExchange troca) throws IOException {
+        lerCorpo(troca);
+
+        switch (troca.getRequestURI().getPath()) {
+            case "/generate-prompt":
+                return Resposta.texto(200, "Prompt de carga: marca próxima, cores vibrantes e linguagem descontraída.");
+            case "/generate-caption":
+                return Resposta.texto(200, "Legenda gerada para o teste de carga ✨ #vulpix");
+            case "/generate-content":
+                String lote = UUID.randomUUID().toString();
+                List<String> imagens = List.of(
+                        "https://cdn.example.com/" + lote + "/1.jpg",
+                        "https://cdn.example.com/" + lote + "/2.jpg",
+                        "https://cdn.example.com/" + lote + "/3.jpg",
+                        "https://cdn.example.com/" + lote + "/4.jpg");
+                return Resposta.json(200, objectMapper.writeValueAsString(Map.of(
+                        "caption", "Legenda gerada para o teste de carga",
+                        "image_urls", imagens)));
+            default:
+                return Resposta.texto(404, "Not Found");
+        }
+    }
+
+    @Override
+    protected Resposta falha(boolean limiteUso) {
+        return limiteUso ? Resposta.texto(503, "Service Unavailable") : Resposta.texto(500, "Internal Server Error");
+    }
+}
@@ -0,0 +1,57 @@
+package com.vulpix.api.carga;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.MountableFile;
+
+/**
+ * Banco usado no teste de carga: um Postgres em container com o schema de
+ * database/script_vulpix_db.sql ou, se carga.datasource.url for informado, um banco já existente.
+ */
+final class BancoCarga implements AutoCloseable {
+    private static final String SCRIPT_SCHEMA = "database/script_vulpix_db.sql";
+
+    private final PostgreSQLContainer<?> container;
+    private final String url;
+    private final String usuario;
+    private final String senha;
+
+    private BancoCarga(PostgreSQLContainer<?> container, String url, String usuario, String senha) {
+        this.container = container;
+        this.url = url;
+        this.usuario = usuario;
+        this.senha = senha;
+    }
+
+    static BancoCarga iniciar() {
+        String urlExterna = System.getProperty("carga.datasource.url");
+        if (urlExterna != null) {
+            return new BancoCarga(null, urlExterna,
+                    System.getProperty("carga.datasource.usuario", "postgres"),
+                    System.getProperty("carga.datasource.senha", "postgres"));
+        }
+
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>(System.getProperty("carga.postgres.imagem", "postgres:16-alpine"))
+                .withCopyFileToContainer(MountableFile.forHostPath(SCRIPT_SCHEMA), "/docker-entrypoint-initdb.d/schema.sql");
+        container.start();
+        return new BancoCarga(container, container.getJdbcUrl() + "&reWriteBatchedInserts=true", container.getUsername(), container.getPassword());
+    }
+
+    String url() {
+        return url;
+    }
+
+    String usuario() {
+        return usuario;
+    }
+
+    String senha() {
+        return senha;
+    }
+
+    @Override
+    public void close() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.vulpix.api.carga;
+
+/**
+ * Como um servidor falso se comporta: latência fixa mais uma variação aleatória, proporção de
+ * respostas com erro interno e de erro por limite de uso, e o percentual de uso informado nos
+ * headers de limite da Graph API.
+ */
+record ComportamentoFalso(long latenciaMs, long variacaoMs, double taxaErro, double taxaLimite, int usoPercentual) {
+
+    static ComportamentoFalso doSistema(String prefixo) {
+        String base = "carga." + prefixo + ".";
+        return new ComportamentoFalso(
+                Long.getLong(base + "latencia-ms", 80),
+                Long.getLong(base + "variacao-ms", 40),
+                Double.parseDouble(System.getProperty(base + "taxa-erro", "0.0")),
+                Double.parseDouble(System.getProperty(base + "taxa-limite", "0.0")),
+                Integer.getInteger(base + "uso-percentual", 20));
+    }
+}
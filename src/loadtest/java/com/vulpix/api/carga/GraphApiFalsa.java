@@ -0,0 +1,165 @@
+package com.vulpix.api.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simula os endpoints da Graph API usados pela aplicação: listagem paginada de mídias, insights
+ * (individuais e em lote), criação de container, publicação e renovação de token. Cada resposta
+ * inclui os headers X-App-Usage e X-Business-Use-Case-Usage com o percentual de uso configurado.
+ */
+final class GraphApiFalsa extends ServidorFalso {
+    static final String VERSAO = "/v17.0";
+
+    private static final String[] METRICAS = {"impressions", "saved", "likes", "comments", "shares", "profile_visits", "follows"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OffsetDateTime referencia = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS);
+    private final AtomicLong sequencia = new AtomicLong(1_000_000);
+    private final int paginas;
+    private final int postsPorPagina;
+
+    GraphApiFalsa(ComportamentoFalso comportamento, int paginas, int postsPorPagina) throws IOException {
+        super(comportamento);
+        this.paginas = paginas;
+        this.postsPorPagina = postsPorPagina;
+    }
+
+    String urlBase() {
+        return url() + VERSAO;
+    }
+
+    String urlToken() {
+        return url() + "/oauth/access_token";
+    }
+
+    @Override
+    protected Resposta responder(HttpExchange troca) throws IOException {
+        String metodo = troca.getRequestMethod();
+        String caminho = troca.getRequestURI().getPath();
+        Map<String, String> parametros = parametros(troca.getRequestURI().getRawQuery());
+
+        if (caminho.equals("/oauth/access_token")) {
+            return json(Map.of("access_token", "token-carga-" + sequencia.incrementAndGet(), "expires_in", 5_184_000));
+        }
+
+        if (caminho.startsWith(VERSAO)) {
+            caminho = caminho.substring(VERSAO.length());
+        }
+        String[] segmentos = caminho.replaceAll("^/+|/+$", "").split("/");
+
+        if (metodo.equals("POST") && segmentos[0].isEmpty()) {
+            return lote(lerCorpo(troca));
+        }
+
+        if (segmentos.length == 2) {
+            String id = segmentos[0];
+            switch (segmentos[1]) {
+                case "media":
+                    if (metodo.equals("GET")) return paginaMidias(id, parametros);
+                    return json(Map.of("id", String.valueOf(sequencia.incrementAndGet())));
+                case "media_publish":
+                    return json(Map.of("id", "1790" + sequencia.incrementAndGet()));
+                case "insights":
+                    return json(Map.of("data", metricas(id)));
+                default:
+                    break;
+            }
+        }
+
+        return Resposta.json(404, "{\"error\":{\"message\":\"Unsupported request\",\"type\":\"GraphMethodException\",\"code\":100}}");
+    }
+
+    @Override
+    protected Resposta falha(boolean limiteUso) {
+        if (limiteUso) {
+            return Resposta.json(400, "{\"error\":{\"message\":\"(#4) Application request limit reached\",\"type\":\"OAuthException\",\"code\":4}}");
+        }
+        return Resposta.json(500, "{\"error\":{\"message\":\"An unexpected error has occurred.\",\"type\":\"OAuthException\",\"code\":2,\"is_transient\":true}}");
+    }
+
+    @Override
+    protected void adicionarCabecalhos(HttpExchange troca) {
+        int uso = comportamento.usoPercentual();
+        String usoApp = "{\"call_count\":" + uso + ",\"total_cputime\":" + uso / 2 + ",\"total_time\":" + uso / 2 + "}";
+        String usoConta = "{\"conta\":[{\"type\":\"instagram\",\"call_count\":" + uso + ",\"total_cputime\":" + uso / 2 +
+                ",\"total_time\":" + uso / 2 + ",\"estimated_time_to_regain_access\":0}]}";
+        troca.getResponseHeaders().set("X-App-Usage", usoApp);
+        troca.getResponseHeaders().set("X-Business-Use-Case-Usage", usoConta);
+    }
+
+    private Resposta paginaMidias(String igUserId, Map<String, String> parametros) throws IOException {
+        int pagina = Integer.parseInt(parametros.getOrDefault("after", "0"));
+
+        List<Map<String, Object>> posts = new ArrayList<>();
+        for (int i = 0; i < postsPorPagina; i++) {
+            int indice = pagina * postsPorPagina + i;
+            Map<String, Object> post = new LinkedHashMap<>();
+            post.put("id", igUserId + String.format("%06d", indice));
+            post.put("caption", "Post de carga " + indice + " #vulpix");
+            post.put("media_type", "IMAGE");
+            post.put("media_url", "https://scontent.example.com/" + igUserId + "/" + indice + ".jpg");
+            post.put("timestamp", referencia.minusHours(indice).toString());
+            post.put("like_count", indice % 250);
+            posts.add(post);
+        }
+
+        Map<String, Object> paging = new LinkedHashMap<>();
+        if (pagina + 1 < paginas) {
+            paging.put("next", urlBase() + "/" + igUserId + "/media?fields=" + parametros.getOrDefault("fields", "") +
+                    "&access_token=" + parametros.getOrDefault("access_token", "") + "&after=" + (pagina + 1));
+        }
+
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("data", posts);
+        resposta.put("paging", paging);
+        return json(resposta);
+    }
+
+    private Resposta lote(String corpo) throws IOException {
+        JsonNode operacoes = objectMapper.readTree(corpo).path("batch");
+
+        List<Map<String, Object>> respostas = new ArrayList<>();
+        for (JsonNode operacao : operacoes) {
+            String relativa = operacao.path("relative_url").asText();
+            String id = relativa.substring(0, relativa.indexOf('/'));
+
+            Map<String, Object> resposta = new LinkedHashMap<>();
+            resposta.put("code", 200);
+            resposta.put("body", objectMapper.writeValueAsString(Map.of("data", metricas(id))));
+            respostas.add(resposta);
+        }
+        return json(respostas);
+    }
+
+    private List<Map<String, Object>> metricas(String idMidia) {
+        long minutos = ChronoUnit.MINUTES.between(referencia, OffsetDateTime.now(ZoneOffset.UTC));
+        int base = Math.floorMod(idMidia.hashCode(), 500);
+
+        List<Map<String, Object>> metricas = new ArrayList<>();
+        for (int i = 0; i < METRICAS.length; i++) {
+            long valor = (base + minutos) * (i + 1);
+            metricas.add(Map.of(
+                    "name", METRICAS[i],
+                    "period", "lifetime",
+                    "values", List.of(Map.of("value", valor)),
+                    "id", idMidia + "/insights/" + METRICAS[i] + "/lifetime"));
+        }
+        return metricas;
+    }
+
+    private Resposta json(Object corpo) throws IOException {
+        return Resposta.json(200, objectMapper.writeValueAsString(corpo));
+    }
+}
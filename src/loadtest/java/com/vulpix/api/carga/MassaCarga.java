@@ -0,0 +1,66 @@
+package com.vulpix.api.carga;
+
+import com.vulpix.api.config.security.jwt.GerenciadorTokenJwt;
+import com.vulpix.api.dto.usuario.UsuarioDetalhesDto;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cria as empresas do teste de carga (usuário, empresa, integração com o Instagram e prompt)
+ * direto no banco e emite um token JWT para cada uma, sem passar pelo fluxo de MFA do login.
+ */
+final class MassaCarga {
+    private final JdbcTemplate jdbcTemplate;
+    private final GerenciadorTokenJwt gerenciadorTokenJwt;
+
+    MassaCarga(ApplicationContext contexto) {
+        this.jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        this.gerenciadorTokenJwt = contexto.getBean(GerenciadorTokenJwt.class);
+    }
+
+    List<Inquilino> criar(int quantidade) {
+        long execucao = ThreadLocalRandom.current().nextLong(1_000_000, 9_999_999);
+
+        List<Inquilino> inquilinos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            String email = "carga-" + execucao + "-" + i + "@vulpix.test";
+
+            UUID idUsuario = jdbcTemplate.queryForObject(
+                    "INSERT INTO usuario (nome, sobrenome, email, senha, status) " +
+                            "VALUES ('Carga', ?, ?, 'sem-login', 'CADASTRO_FINALIZADO') RETURNING id_usuario",
+                    UUID.class, String.valueOf(i), email);
+
+            UUID idEmpresa = jdbcTemplate.queryForObject(
+                    "INSERT INTO empresa (razao_social, nome_fantasia, cnpj, responsavel) VALUES (?, ?, ?, ?) RETURNING id_empresa",
+                    UUID.class, "Empresa Carga " + i, "Carga " + i, String.format("%07d%07d", execucao, i), idUsuario);
+
+            String igUserId = "1784" + execucao + String.format("%04d", i);
+            UUID idIntegracao = jdbcTemplate.queryForObject(
+                    "INSERT INTO integracao (tipo, ig_user_id, client_id, client_secret, access_token, access_token_expire_date, status, fk_empresa) " +
+                            "VALUES ('INSTAGRAM', ?, ?, 'segredo-carga', ?, ?, true, ?) RETURNING id_integracao",
+                    UUID.class, igUserId, "app-carga", "token-" + igUserId,
+                    Timestamp.valueOf(LocalDateTime.now().plusDays(60)), idEmpresa);
+
+            jdbcTemplate.update("INSERT INTO config_prompt (form, prompt, fk_empresa) VALUES ('{}', ?, ?)",
+                    "Prompt de carga da empresa " + i, idEmpresa);
+
+            UsuarioDetalhesDto principal = new UsuarioDetalhesDto(idUsuario, email, idEmpresa, List.of());
+            String token = gerenciadorTokenJwt.generateToken(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+            inquilinos.add(new Inquilino(idEmpresa, idIntegracao, token));
+        }
+        return inquilinos;
+    }
+
+    record Inquilino(UUID idEmpresa, UUID idIntegracao, String token) {
+    }
+}
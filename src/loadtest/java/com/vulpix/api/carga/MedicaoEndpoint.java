@@ -0,0 +1,73 @@
+package com.vulpix.api.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências (HdrHistogram, em microssegundos) e contadores de sucesso/erro de um endpoint.
+ */
+final class MedicaoEndpoint {
+    private final String nome;
+    private final Histogram latencias = new ConcurrentHistogram(3);
+    private final LongAdder sucessos = new LongAdder();
+    private final LongAdder erros = new LongAdder();
+    private volatile long duracaoNanos;
+
+    MedicaoEndpoint(String nome) {
+        this.nome = nome;
+    }
+
+    String nome() {
+        return nome;
+    }
+
+    void registrar(long inicioNanos, boolean sucesso) {
+        latencias.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicioNanos));
+        if (sucesso) {
+            sucessos.increment();
+        } else {
+            erros.increment();
+        }
+    }
+
+    void finalizar(long duracaoNanos) {
+        this.duracaoNanos = duracaoNanos;
+    }
+
+    Map<String, Object> resumo() {
+        long total = sucessos.sum() + erros.sum();
+        double segundos = duracaoNanos / 1_000_000_000.0;
+
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("endpoint", nome);
+        resumo.put("requisicoes", total);
+        resumo.put("erros", erros.sum());
+        resumo.put("vazaoPorSegundo", segundos > 0 ? total / segundos : 0);
+        resumo.put("p50Ms", percentil(50));
+        resumo.put("p95Ms", percentil(95));
+        resumo.put("p99Ms", percentil(99));
+        resumo.put("maximoMs", latencias.getMaxValue() / 1000.0);
+        return resumo;
+    }
+
+    String linha() {
+        Map<String, Object> resumo = resumo();
+        return String.format("%-32s %9d %7d %10.1f %9.1f %9.1f %9.1f %9.1f",
+                nome, resumo.get("requisicoes"), resumo.get("erros"), resumo.get("vazaoPorSegundo"),
+                resumo.get("p50Ms"), resumo.get("p95Ms"), resumo.get("p99Ms"), resumo.get("maximoMs"));
+    }
+
+    static String cabecalho() {
+        return String.format("%-32s %9s %7s %10s %9s %9s %9s %9s",
+                "endpoint", "req", "erros", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+    }
+
+    private double percentil(double percentil) {
+        return latencias.getValueAtPercentile(percentil) / 1000.0;
+    }
+}
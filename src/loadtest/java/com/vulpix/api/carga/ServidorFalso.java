@@ -0,0 +1,144 @@
+package com.vulpix.api.carga;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servidor HTTP local (JDK HttpServer) que simula um serviço externo, aplicando a latência e as
+ * falhas configuradas antes de delegar a resposta para a implementação concreta.
+ */
+abstract class ServidorFalso implements AutoCloseable {
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+    protected final ComportamentoFalso comportamento;
+
+    private final LongAdder requisicoes = new LongAdder();
+    private final LongAdder falhasInjetadas = new LongAdder();
+    private final LongAdder limitesInjetados = new LongAdder();
+
+    ServidorFalso(ComportamentoFalso comportamento) throws IOException {
+        this.comportamento = comportamento;
+        this.executor = Executors.newCachedThreadPool();
+        this.servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.servidor.setExecutor(executor);
+        this.servidor.createContext("/", this::atender);
+        this.servidor.start();
+    }
+
+    int porta() {
+        return servidor.getAddress().getPort();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + porta();
+    }
+
+    Map<String, Object> estatisticas() {
+        Map<String, Object> estatisticas = new HashMap<>();
+        estatisticas.put("requisicoes", requisicoes.sum());
+        estatisticas.put("falhasInjetadas", falhasInjetadas.sum());
+        estatisticas.put("limitesInjetados", limitesInjetados.sum());
+        estatisticas.put("comportamento", comportamento);
+        return estatisticas;
+    }
+
+    protected abstract Resposta responder(HttpExchange troca) throws IOException;
+
+    protected abstract Resposta falha(boolean limiteUso);
+
+    protected void adicionarCabecalhos(HttpExchange troca) {
+    }
+
+    private void atender(HttpExchange troca) {
+        requisicoes.increment();
+        try {
+            simularLatencia();
+
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            Resposta resposta;
+            if (aleatorio.nextDouble() < comportamento.taxaLimite()) {
+                limitesInjetados.increment();
+                resposta = falha(true);
+            } else if (aleatorio.nextDouble() < comportamento.taxaErro()) {
+                falhasInjetadas.increment();
+                resposta = falha(false);
+            } else {
+                resposta = responder(troca);
+            }
+
+            adicionarCabecalhos(troca);
+            enviar(troca, resposta);
+        } catch (Exception e) {
+            System.err.println("Erro no servidor falso: " + e.getMessage());
+            try {
+                enviar(troca, Resposta.texto(500, "Erro no servidor falso"));
+            } catch (IOException ignorado) {
+            }
+        } finally {
+            troca.close();
+        }
+    }
+
+    private void simularLatencia() throws InterruptedException {
+        long variacao = comportamento.variacaoMs() > 0 ? ThreadLocalRandom.current().nextLong(comportamento.variacaoMs() + 1) : 0;
+        long espera = comportamento.latenciaMs() + variacao;
+        if (espera > 0) {
+            Thread.sleep(espera);
+        }
+    }
+
+    private void enviar(HttpExchange troca, Resposta resposta) throws IOException {
+        byte[] corpo = resposta.corpo().getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", resposta.tipo());
+        troca.sendResponseHeaders(resposta.status(), corpo.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+
+    protected static String lerCorpo(HttpExchange troca) throws IOException {
+        return new String(troca.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    protected static Map<String, String> parametros(String query) {
+        Map<String, String> parametros = new HashMap<>();
+        if (query == null || query.isEmpty()) return parametros;
+
+        for (String par : query.split("&")) {
+            int separador = par.indexOf('=');
+            if (separador < 0) continue;
+            parametros.put(URLDecoder.decode(par.substring(0, separador), StandardCharsets.UTF_8),
+                    URLDecoder.decode(par.substring(separador + 1), StandardCharsets.UTF_8));
+        }
+        return parametros;
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+
+    protected record Resposta(int status, String corpo, String tipo) {
+        static Resposta json(int status, String corpo) {
+            return new Resposta(status, corpo, "application/json; charset=UTF-8");
+        }
+
+        static Resposta texto(int status, String corpo) {
+            return new Resposta(status, corpo, "text/plain; charset=UTF-8");
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.vulpix.api.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vulpix.api.VulpixAiApiApplication;
+import com.vulpix.api.entity.Integracao;
+import com.vulpix.api.repository.IntegracaoRepository;
+import com.vulpix.api.service.integracoes.graph.InsightService;
+import com.vulpix.api.service.integracoes.graph.PublicacaoService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Teste de carga ponta a ponta: sobe a aplicação contra um Postgres em container, uma Graph API
+ * falsa e um agent falso, popula as empresas, executa a sincronização e a coleta de insights e
+ * dispara cada cenário com N usuários virtuais, reportando vazão e p50/p95/p99 por endpoint.
+ *
+ * Configuração por propriedades de sistema (-Dcarga.*), ver README.
+ */
+public final class TesteCarga {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final int usuariosVirtuais = Integer.getInteger("carga.usuarios-virtuais", 16);
+    private final Duration aquecimento = Duration.ofSeconds(Long.getLong("carga.aquecimento-segundos", 10));
+    private final Duration duracao = Duration.ofSeconds(Long.getLong("carga.duracao-segundos", 30));
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        new TesteCarga().executar();
+        System.exit(0);
+    }
+
+    private void executar() throws Exception {
+        int empresas = Integer.getInteger("carga.empresas", 10);
+        int paginas = Integer.getInteger("carga.graph.paginas", 4);
+        int postsPorPagina = Integer.getInteger("carga.graph.posts-por-pagina", 25);
+        Path arquivoResultado = Path.of(System.getProperty("carga.resultado", "target/carga-resultado.json"));
+
+        try (BancoCarga banco = BancoCarga.iniciar();
+             GraphApiFalsa graph = new GraphApiFalsa(ComportamentoFalso.doSistema("graph"), paginas, postsPorPagina);
+             AgentFalso agent = new AgentFalso(ComportamentoFalso.doSistema("agent"));
+             ConfigurableApplicationContext contexto = iniciarAplicacao(banco, graph, agent)) {
+
+            String urlApi = "http://127.0.0.1:" + ((WebServerApplicationContext) contexto).getWebServer().getPort() + "/api";
+            List<MassaCarga.Inquilino> inquilinos = new MassaCarga(contexto).criar(empresas);
+
+            List<MedicaoEndpoint> medicoes = new ArrayList<>();
+            medicoes.addAll(prepararDados(contexto, inquilinos));
+
+            for (Cenario cenario : cenarios()) {
+                System.out.println("Executando cenário " + cenario.nome() + "...");
+                rodar(cenario, urlApi, inquilinos, aquecimento, null);
+                MedicaoEndpoint medicao = new MedicaoEndpoint(cenario.metodo() + " " + cenario.nome());
+                rodar(cenario, urlApi, inquilinos, duracao, medicao);
+                medicoes.add(medicao);
+            }
+
+            reportar(medicoes, graph, agent, arquivoResultado);
+        }
+    }
+
+    private ConfigurableApplicationContext iniciarAplicacao(BancoCarga banco, GraphApiFalsa graph, AgentFalso agent) {
+        Map<String, Object> propriedades = new LinkedHashMap<>();
+        propriedades.put("server.port", 0);
+        propriedades.put("spring.datasource.url", banco.url());
+        propriedades.put("spring.datasource.username", banco.usuario());
+        propriedades.put("spring.datasource.password", banco.senha());
+        propriedades.put("graph.url-base", graph.urlBase());
+        propriedades.put("graph.url-token", graph.urlToken());
+        propriedades.put("ip.agent", "127.0.0.1");
+        propriedades.put("agent.porta", agent.porta());
+        propriedades.put("jwt.secret", UUID.randomUUID() + "-" + UUID.randomUUID());
+        propriedades.put("stripe.chave-secreta", "sk_test_carga");
+        propriedades.put("stripe.chave-webhook", "whsec_carga");
+
+        return new SpringApplicationBuilder(VulpixAiApiApplication.class)
+                .properties(propriedades)
+                .run();
+    }
+
+    private List<MedicaoEndpoint> prepararDados(ConfigurableApplicationContext contexto, List<MassaCarga.Inquilino> inquilinos) throws Exception {
+        IntegracaoRepository integracaoRepository = contexto.getBean(IntegracaoRepository.class);
+        PublicacaoService publicacaoService = contexto.getBean(PublicacaoService.class);
+        InsightService insightService = contexto.getBean(InsightService.class);
+
+        MedicaoEndpoint sincronizacao = new MedicaoEndpoint("job sincronizacao-posts");
+        MedicaoEndpoint coleta = new MedicaoEndpoint("job coleta-insights");
+
+        executarPorInquilino(inquilinos, sincronizacao, inquilino ->
+                publicacaoService.sincronizarPosts(buscarIntegracao(integracaoRepository, inquilino)));
+        // Duas coletas para que o dashboard tenha variação entre snapshots
+        for (int i = 0; i < 2; i++) {
+            executarPorInquilino(inquilinos, coleta, inquilino ->
+                    insightService.fetchInsightsBatch(buscarIntegracao(integracaoRepository, inquilino)));
+        }
+
+        return List.of(sincronizacao, coleta);
+    }
+
+    private Integracao buscarIntegracao(IntegracaoRepository integracaoRepository, MassaCarga.Inquilino inquilino) {
+        return integracaoRepository.findById(inquilino.idIntegracao()).orElseThrow();
+    }
+
+    private void executarPorInquilino(List<MassaCarga.Inquilino> inquilinos, MedicaoEndpoint medicao,
+                                      Consumer<MassaCarga.Inquilino> tarefa) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(usuariosVirtuais);
+        long inicio = System.nanoTime();
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (MassaCarga.Inquilino inquilino : inquilinos) {
+                futuros.add(executor.submit(() -> {
+                    long inicioTarefa = System.nanoTime();
+                    try {
+                        tarefa.accept(inquilino);
+                        medicao.registrar(inicioTarefa, true);
+                    } catch (Exception e) {
+                        System.err.println("Falha em " + medicao.nome() + " para a empresa " + inquilino.idEmpresa() + ": " + e.getMessage());
+                        medicao.registrar(inicioTarefa, false);
+                    }
+                }));
+            }
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        medicao.finalizar(System.nanoTime() - inicio);
+    }
+
+    private void rodar(Cenario cenario, String urlApi, List<MassaCarga.Inquilino> inquilinos,
+                       Duration tempo, MedicaoEndpoint medicao) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(usuariosVirtuais);
+        AtomicInteger proximoInquilino = new AtomicInteger();
+        long inicio = System.nanoTime();
+        long fim = inicio + tempo.toNanos();
+
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int i = 0; i < usuariosVirtuais; i++) {
+                futuros.add(executor.submit(() -> {
+                    while (System.nanoTime() < fim) {
+                        MassaCarga.Inquilino inquilino = inquilinos.get(Math.floorMod(proximoInquilino.getAndIncrement(), inquilinos.size()));
+                        long inicioRequisicao = System.nanoTime();
+                        boolean sucesso;
+                        try {
+                            HttpResponse<Void> resposta = httpClient.send(cenario.requisicao(urlApi, inquilino), HttpResponse.BodyHandlers.discarding());
+                            sucesso = resposta.statusCode() < 400;
+                        } catch (IOException e) {
+                            sucesso = false;
+                        }
+                        if (medicao != null) {
+                            medicao.registrar(inicioRequisicao, sucesso);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        if (medicao != null) {
+            medicao.finalizar(System.nanoTime() - inicio);
+        }
+    }
+
+    private List<Cenario> cenarios() {
+        LocalDate hoje = LocalDate.now();
+        List<Cenario> todos = List.of(
+                new Cenario("/posts", "GET", "/posts?page=0&size=10", null),
+                new Cenario("/dash/kpis", "GET", "/dash/kpis", null),
+                new Cenario("/dash/grafico-metricas-por-dia", "GET",
+                        "/dash/grafico-metricas-por-dia?data_inicio=" + hoje.minusDays(30) + "&data_fim=" + hoje, null),
+                new Cenario("/dash/grafico-ultima-metrica-post", "GET", "/dash/grafico-ultima-metrica-post", null),
+                new Cenario("/posts/gerar-legenda", "POST", "/posts/gerar-legenda", "Post sobre a promoção de fim de ano"),
+                new Cenario("/posts/gerar-post", "POST", "/posts/gerar-post", "Post sobre a promoção de fim de ano"));
+
+        String filtro = System.getProperty("carga.cenarios");
+        if (filtro == null || filtro.isBlank()) return todos;
+
+        Set<String> selecionados = Arrays.stream(filtro.split(",")).map(String::trim).collect(Collectors.toSet());
+        return todos.stream().filter(cenario -> selecionados.contains(cenario.nome())).toList();
+    }
+
+    private void reportar(List<MedicaoEndpoint> medicoes, GraphApiFalsa graph, AgentFalso agent, Path arquivoResultado) throws IOException {
+        System.out.println();
+        System.out.println(MedicaoEndpoint.cabecalho());
+        for (MedicaoEndpoint medicao : medicoes) {
+            System.out.println(medicao.linha());
+        }
+
+        Map<String, Object> configuracao = new LinkedHashMap<>();
+        configuracao.put("usuariosVirtuais", usuariosVirtuais);
+        configuracao.put("aquecimentoSegundos", aquecimento.getSeconds());
+        configuracao.put("duracaoSegundos", duracao.getSeconds());
+
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("configuracao", configuracao);
+        resultado.put("graph", graph.estatisticas());
+        resultado.put("agent", agent.estatisticas());
+        resultado.put("endpoints", medicoes.stream().map(MedicaoEndpoint::resumo).toList());
+
+        if (arquivoResultado.getParent() != null) {
+            Files.createDirectories(arquivoResultado.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(arquivoResultado.toFile(), resultado);
+        System.out.println("\nResultado gravado em " + arquivoResultado.toAbsolutePath());
+    }
+
+    private record Cenario(String nome, String metodo, String caminho, String corpo) {
+        HttpRequest requisicao(String urlApi, MassaCarga.Inquilino inquilino) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(urlApi + caminho))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Authorization", "Bearer " + inquilino.token());
+
+            if (corpo == null) {
+                return builder.GET().build();
+            }
+            return builder.header("Content-Type", "text/plain; charset=UTF-8")
+                    .method(metodo, HttpRequest.BodyPublishers.ofString(corpo))
+                    .build();
+        }
+    }
+}
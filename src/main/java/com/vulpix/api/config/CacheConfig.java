@@ -0,0 +1,40 @@
+package com.vulpix.api.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String DASHBOARD_ULTIMA_METRICA_POST = "dashboardUltimaMetricaPost";
+    public static final String DASHBOARD_METRICAS_POR_DIA = "dashboardMetricasPorDia";
+    public static final String DASHBOARD_KPIS = "dashboardKpis";
+    public static final String EMPRESA_POR_USUARIO = "empresaPorUsuario";
+    public static final List<String> CACHES_DASHBOARD = List.of(DASHBOARD_ULTIMA_METRICA_POST, DASHBOARD_METRICAS_POR_DIA, DASHBOARD_KPIS);
+
+    /**
+     * Cache local padrão. Com spring.cache.type apontando para outro provedor (ex.: redis),
+     * este bean não é criado e o CacheManager da autoconfiguração do Spring Boot assume.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "caffeine", matchIfMissing = true)
+    public CacheManager cacheManager(@Value("${cache.dashboard.ultima-metrica-post.spec}") String specUltimaMetricaPost,
+                                     @Value("${cache.dashboard.metricas-por-dia.spec}") String specMetricasPorDia,
+                                     @Value("${cache.dashboard.kpis.spec}") String specKpis,
+                                     @Value("${cache.empresa-por-usuario.spec}") String specEmpresaPorUsuario) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(DASHBOARD_ULTIMA_METRICA_POST, Caffeine.from(specUltimaMetricaPost).recordStats().build());
+        cacheManager.registerCustomCache(DASHBOARD_METRICAS_POR_DIA, Caffeine.from(specMetricasPorDia).recordStats().build());
+        cacheManager.registerCustomCache(DASHBOARD_KPIS, Caffeine.from(specKpis).recordStats().build());
+        cacheManager.registerCustomCache(EMPRESA_POR_USUARIO, Caffeine.from(specEmpresaPorUsuario).recordStats().build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,120 @@
+package com.vulpix.api.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita as requisicoes simultaneas de um cliente HTTP por host. Quando o limite e atingido a requisicao
+ * espera no maximo {@code esperaMaxima} por uma vaga e depois falha, para que um host lento nao prenda
+ * as threads do Tomcat. A vaga so e devolvida quando a resposta e fechada, depois da leitura do corpo, para
+ * que o limite corresponda as conexoes abertas. Publica a ocupacao de cada host em {@code vulpix.http.cliente.conexoes.*}.
+ */
+public class LimiteConexoesPorHost implements ClientHttpRequestInterceptor {
+    private final String cliente;
+    private final int maximoPorHost;
+    private final Duration esperaMaxima;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Semaphore> vagas = new ConcurrentHashMap<>();
+
+    public LimiteConexoesPorHost(String cliente, int maximoPorHost, Duration esperaMaxima, MeterRegistry meterRegistry) {
+        this.cliente = cliente;
+        this.maximoPorHost = maximoPorHost;
+        this.esperaMaxima = esperaMaxima;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String host = request.getURI().getHost() + ":" + request.getURI().getPort();
+        Semaphore vagasHost = vagas.computeIfAbsent(host, this::criarVagas);
+
+        try {
+            if (!vagasHost.tryAcquire(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS)) {
+                meterRegistry.counter("vulpix.http.cliente.conexoes.recusadas", "cliente", cliente, "host", host).increment();
+                throw new ResourceAccessException("Limite de " + maximoPorHost + " conexões simultâneas atingido para " + host + " (cliente " + cliente + ").");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrompido aguardando conexão para " + host + ".");
+        }
+
+        try {
+            return new RespostaComVaga(execution.execute(request, body), vagasHost);
+        } catch (IOException | RuntimeException e) {
+            vagasHost.release();
+            throw e;
+        }
+    }
+
+    private Semaphore criarVagas(String host) {
+        Semaphore semaforo = new Semaphore(maximoPorHost, true);
+        Gauge.builder("vulpix.http.cliente.conexoes.ativas", semaforo, s -> maximoPorHost - s.availablePermits())
+                .tag("cliente", cliente).tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("vulpix.http.cliente.conexoes.pendentes", semaforo, Semaphore::getQueueLength)
+                .tag("cliente", cliente).tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("vulpix.http.cliente.conexoes.maximo", semaforo, s -> maximoPorHost)
+                .tag("cliente", cliente).tag("host", host)
+                .register(meterRegistry);
+        return semaforo;
+    }
+
+    private static class RespostaComVaga implements ClientHttpResponse {
+        private final ClientHttpResponse resposta;
+        private final Semaphore vagas;
+        private final AtomicBoolean liberada = new AtomicBoolean();
+
+        RespostaComVaga(ClientHttpResponse resposta, Semaphore vagas) {
+            this.resposta = resposta;
+            this.vagas = vagas;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return resposta.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return resposta.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return resposta.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return resposta.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                resposta.close();
+            } finally {
+                if (liberada.compareAndSet(false, true)) {
+                    vagas.release();
+                }
+            }
+        }
+    }
+}
@@ -1,13 +1,68 @@
 package com.vulpix.api.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Configuration
 public class RestTemplateConfig {
+
+    // Cada integracao tem o seu HttpClient (pool de conexoes keep-alive) e o seu limite por host,
+    // para que a lentidao de uma nao consuma as conexoes da outra.
+    // A Graph API negocia HTTP/2 via TLS; o agent roda em HTTP simples na mesma maquina, entao fica em HTTP/1.1
+    @Bean
+    public RestTemplate graphRestTemplate(@Value("${http.graph.conexoes-por-host}") int conexoesPorHost,
+                                          @Value("${http.graph.timeout-conexao-ms}") long timeoutConexaoMs,
+                                          @Value("${http.graph.timeout-leitura-ms}") long timeoutLeituraMs,
+                                          @Value("${http.graph.espera-conexao-ms}") long esperaConexaoMs,
+                                          MeterRegistry meterRegistry) {
+        return criarRestTemplate("graph", HttpClient.Version.HTTP_2, conexoesPorHost, timeoutConexaoMs, timeoutLeituraMs, esperaConexaoMs, meterRegistry);
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate agentRestTemplate(@Value("${http.agent.conexoes-por-host}") int conexoesPorHost,
+                                          @Value("${http.agent.timeout-conexao-ms}") long timeoutConexaoMs,
+                                          @Value("${http.agent.timeout-leitura-ms}") long timeoutLeituraMs,
+                                          @Value("${http.agent.espera-conexao-ms}") long esperaConexaoMs,
+                                          MeterRegistry meterRegistry) {
+        return criarRestTemplate("agent", HttpClient.Version.HTTP_1_1, conexoesPorHost, timeoutConexaoMs, timeoutLeituraMs, esperaConexaoMs, meterRegistry);
+    }
+
+    private RestTemplate criarRestTemplate(String cliente, HttpClient.Version versao, int conexoesPorHost, long timeoutConexaoMs, long timeoutLeituraMs,
+                                           long esperaConexaoMs, MeterRegistry meterRegistry) {
+        // Threads limitadas ao numero de conexoes por host; as ociosas sao encerradas depois de 60s
+        AtomicInteger contador = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(conexoesPorHost, conexoesPorHost, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "http-" + cliente + "-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(versao)
+                .connectTimeout(Duration.ofMillis(timeoutConexaoMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient, executor);
+        requestFactory.setReadTimeout(Duration.ofMillis(timeoutLeituraMs));
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(
+                new LimiteConexoesPorHost(cliente, conexoesPorHost, Duration.ofMillis(esperaConexaoMs), meterRegistry));
+        return restTemplate;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.vulpix.api.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Aplica um tempo maximo proprio as respostas assincronas das exportacoes em streaming. O restante da API
+ * continua com o {@code spring.mvc.async.request-timeout} global, mais curto. O ajuste e feito antes do
+ * inicio do processamento assincrono, unico momento em que o container ainda aceita trocar o tempo.
+ */
+public class TempoMaximoExportacao implements CallableProcessingInterceptor {
+    private final List<PathPattern> caminhos;
+    private final long tempoMaximoMs;
+
+    public TempoMaximoExportacao(long tempoMaximoMs, String... caminhos) {
+        this.tempoMaximoMs = tempoMaximoMs;
+        this.caminhos = Arrays.stream(caminhos).map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request instanceof AsyncWebRequest asyncRequest && exportacao(request.getNativeRequest(HttpServletRequest.class))) {
+            asyncRequest.setTimeout(tempoMaximoMs);
+        }
+    }
+
+    private boolean exportacao(HttpServletRequest request) {
+        if (request == null) {
+            return false;
+        }
+        var caminho = (ServletRequestPathUtils.hasParsedRequestPath(request)
+                ? ServletRequestPathUtils.getParsedRequestPath(request)
+                : ServletRequestPathUtils.parseAndCache(request)).pathWithinApplication();
+        return caminhos.stream().anyMatch(padrao -> padrao.matches(caminho));
+    }
+}
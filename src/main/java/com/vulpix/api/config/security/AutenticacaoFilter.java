@@ -2,6 +2,7 @@ package com.vulpix.api.config.security;
 
 import com.vulpix.api.config.security.jwt.GerenciadorTokenJwt;
 import com.vulpix.api.service.usuario.autenticacao.AutenticacaoService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -33,16 +34,17 @@ public class AutenticacaoFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        String username = null;
-        String jwtToken = null;
-
         String requestTokenHeader = request.getHeader("Authorization");
 
         if (Objects.nonNull(requestTokenHeader) && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
+            String jwtToken = requestTokenHeader.substring(7);
 
             try {
-                username = jwtTokenManager.getUsernameFromToken(jwtToken);
+                Claims claims = jwtTokenManager.validarToken(jwtToken);
+
+                if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                    addUsuarioInContext(request, claims);
+                }
             } catch (ExpiredJwtException exception) {
                 LOGGER.info("[FALHA AUTENTICACAO] Token expirado, usuario: {} - {}", exception.getClaims().getSubject(), exception.getMessage());
                 LOGGER.trace("[FALHA AUTENTICACAO] - stack trace: %s", exception);
@@ -51,21 +53,19 @@ public class AutenticacaoFilter extends OncePerRequestFilter {
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            addUsernameInContext(request, username, jwtToken);
-        }
-
         filterChain.doFilter(request, response);
     }
 
-    private void addUsernameInContext(HttpServletRequest request, String username, String jwtToken) {
-        UserDetails userDetails = autenticacaoService.loadUserByUsername(username);
+    private void addUsuarioInContext(HttpServletRequest request, Claims claims) {
+        UserDetails userDetails = jwtTokenManager.getUsuarioDetalhesFromClaims(claims);
 
-        if (jwtTokenManager.validateToken(jwtToken, userDetails)) {
-            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
-            usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+        if (userDetails == null) {
+            userDetails = autenticacaoService.loadUserByUsername(claims.getSubject());
         }
+
+        UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
     }
 }
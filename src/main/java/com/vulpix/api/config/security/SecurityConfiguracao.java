@@ -1,6 +1,7 @@
 package com.vulpix.api.config.security;
 
 import com.vulpix.api.config.security.jwt.GerenciadorTokenJwt;
+import com.vulpix.api.controller.PublicacaoController;
 import com.vulpix.api.service.usuario.autenticacao.AutenticacaoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -46,7 +47,9 @@ public class SecurityConfiguracao {
             new AntPathRequestMatcher("/api/swagger-ui/**"),
             new AntPathRequestMatcher("/api/swagger-resources/*"),
             new AntPathRequestMatcher("/api/v3/api-docs/**"),
-            new AntPathRequestMatcher("/api/autenticacoes/**")
+            new AntPathRequestMatcher("/api/autenticacoes/**"),
+            // A autenticacao do websocket e feita no CONNECT do STOMP (WebSocketAutenticacaoInterceptor)
+            new AntPathRequestMatcher("/api/ws/**")
     };
 
     @Bean
@@ -114,7 +117,7 @@ public class SecurityConfiguracao {
                 )
         );
 
-        configuracao.setExposedHeaders(List.of(HttpHeaders.CONTENT_DISPOSITION));
+        configuracao.setExposedHeaders(List.of(HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.LOCATION, PublicacaoController.HEADER_ULTIMA_SINCRONIZACAO));
 
         UrlBasedCorsConfigurationSource origem = new UrlBasedCorsConfigurationSource();
         origem.registerCorsConfiguration("/**", configuracao);
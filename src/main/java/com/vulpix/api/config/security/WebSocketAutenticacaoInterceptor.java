@@ -0,0 +1,101 @@
+package com.vulpix.api.config.security;
+
+import com.vulpix.api.config.security.jwt.GerenciadorTokenJwt;
+import com.vulpix.api.dto.usuario.UsuarioDetalhesDto;
+import com.vulpix.api.service.usuario.autenticacao.AutenticacaoService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Principal;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Autentica a sessão STOMP no CONNECT com o mesmo JWT da API (header Authorization: Bearer) e só permite
+ * inscrição nos tópicos da empresa do usuário autenticado (/topic/empresas/{idEmpresa}/...). O cliente só
+ * envia para destinos da aplicação (/app/...): o broker repassaria um SEND em /topic para os inscritos.
+ * O handshake HTTP é liberado porque navegadores não enviam headers customizados no upgrade do websocket.
+ */
+public class WebSocketAutenticacaoInterceptor implements ChannelInterceptor {
+    private static final Pattern TOPICO_EMPRESA = Pattern.compile("^/topic/empresas/([^/]+)/.+$");
+    private static final String PREFIXO_APLICACAO = "/app/";
+
+    private final AutenticacaoService autenticacaoService;
+    private final GerenciadorTokenJwt jwtTokenManager;
+
+    public WebSocketAutenticacaoInterceptor(AutenticacaoService autenticacaoService, GerenciadorTokenJwt jwtTokenManager) {
+        this.autenticacaoService = autenticacaoService;
+        this.jwtTokenManager = jwtTokenManager;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) return message;
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            accessor.setUser(autenticar(accessor.getFirstNativeHeader("Authorization")));
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            autorizarInscricao(accessor.getUser(), accessor.getDestination());
+        } else if (StompCommand.SEND.equals(accessor.getCommand())) {
+            autorizarEnvio(accessor.getUser(), accessor.getDestination());
+        }
+
+        return message;
+    }
+
+    private UsernamePasswordAuthenticationToken autenticar(String header) {
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new MessageDeliveryException("Token de acesso ausente.");
+        }
+
+        Claims claims;
+        try {
+            claims = jwtTokenManager.validarToken(header.substring(7));
+        } catch (JwtException e) {
+            throw new MessageDeliveryException("Token de acesso inválido ou expirado.");
+        }
+
+        UserDetails userDetails = jwtTokenManager.getUsuarioDetalhesFromClaims(claims);
+        if (userDetails == null) {
+            userDetails = autenticacaoService.loadUserByUsername(claims.getSubject());
+        }
+
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private void autorizarInscricao(Principal usuario, String destino) {
+        UsuarioDetalhesDto detalhes = usuarioAutenticado(usuario);
+
+        Matcher topico = destino != null ? TOPICO_EMPRESA.matcher(destino) : null;
+        if (topico == null || !topico.matches() || detalhes.getEmpresaId() == null
+                || !topico.group(1).equals(detalhes.getEmpresaId().toString())) {
+            throw new MessageDeliveryException("Inscrição não permitida em " + destino + ".");
+        }
+    }
+
+    private void autorizarEnvio(Principal usuario, String destino) {
+        usuarioAutenticado(usuario);
+
+        if (destino == null || !destino.startsWith(PREFIXO_APLICACAO)) {
+            throw new MessageDeliveryException("Envio não permitido em " + destino + ".");
+        }
+    }
+
+    private UsuarioDetalhesDto usuarioAutenticado(Principal usuario) {
+        if (!(usuario instanceof UsernamePasswordAuthenticationToken autenticacao)
+                || !(autenticacao.getPrincipal() instanceof UsuarioDetalhesDto detalhes)) {
+            throw new MessageDeliveryException("Sessão não autenticada.");
+        }
+        return detalhes;
+    }
+}
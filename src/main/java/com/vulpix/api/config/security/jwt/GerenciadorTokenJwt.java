@@ -1,26 +1,77 @@
 package com.vulpix.api.config.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vulpix.api.dto.usuario.UsuarioDetalhesDto;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class GerenciadorTokenJwt {
+    public static final String CLAIM_USUARIO_ID = "uid";
+    public static final String CLAIM_EMPRESA_ID = "empresa";
+    public static final String CLAIM_AUTORIDADES = "auth";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.validity}")
     private long jwtTokenValidity;
 
+    @Value("${jwt.cache-validacao.habilitado:false}")
+    private boolean cacheValidacaoHabilitado;
+
+    @Value("${jwt.cache-validacao.tamanho-maximo:10000}")
+    private long cacheValidacaoTamanhoMaximo;
+
+    @Value("${jwt.cache-validacao.ttl-segundos:60}")
+    private long cacheValidacaoTtlSegundos;
+
+    private SecretKey chaveAssinatura;
+    private JwtParser parser;
+    private Cache<String, Claims> tokensValidados;
+
+    public GerenciadorTokenJwt() {
+    }
+
+    public GerenciadorTokenJwt(String secret, long jwtTokenValidity) {
+        this.secret = secret;
+        this.jwtTokenValidity = jwtTokenValidity;
+        inicializar();
+    }
+
+    @PostConstruct
+    public void inicializar() {
+        chaveAssinatura = Keys.hmacShaKeyFor(this.secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(chaveAssinatura).build();
+
+        if (cacheValidacaoHabilitado) {
+            tokensValidados = Caffeine.newBuilder()
+                    .maximumSize(cacheValidacaoTamanhoMaximo)
+                    .expireAfterWrite(Duration.ofSeconds(cacheValidacaoTtlSegundos))
+                    .build();
+        }
+    }
+
     public String getUsernameFromToken(String token) {
         return getClaimForToken(token, Claims::getSubject);
     }
@@ -32,8 +83,17 @@ public class GerenciadorTokenJwt {
     public String generateToken(final Authentication authentication) {
         final String authorities = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(","));
 
-        return Jwts.builder().setSubject(authentication.getName())
-                .signWith(parseSecret()).setIssuedAt(new Date(System.currentTimeMillis()))
+        JwtBuilder builder = Jwts.builder().setSubject(authentication.getName())
+                .claim(CLAIM_AUTORIDADES, authorities);
+
+        if (authentication.getPrincipal() instanceof UsuarioDetalhesDto usuario && usuario.getId() != null) {
+            builder.claim(CLAIM_USUARIO_ID, usuario.getId().toString());
+            if (usuario.getEmpresaId() != null) {
+                builder.claim(CLAIM_EMPRESA_ID, usuario.getEmpresaId().toString());
+            }
+        }
+
+        return builder.signWith(chaveAssinatura).setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtTokenValidity * 1_000)).compact();
     }
 
@@ -47,20 +107,57 @@ public class GerenciadorTokenJwt {
         return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
     }
 
+    /**
+     * Verifica assinatura e expiração do token uma única vez e devolve suas claims.
+     * Lança ExpiredJwtException ou JwtException quando o token não é válido.
+     */
+    public Claims validarToken(String token) {
+        if (tokensValidados == null) return getAllClaimsFromToken(token);
+
+        String chave = hashToken(token);
+        Claims claims = tokensValidados.getIfPresent(chave);
+        if (claims != null && claims.getExpiration().after(new Date(System.currentTimeMillis()))) {
+            return claims;
+        }
+
+        claims = getAllClaimsFromToken(token);
+        tokensValidados.put(chave, claims);
+        return claims;
+    }
+
+    /**
+     * Monta o usuário autenticado a partir das claims, sem consultar o banco.
+     * Retorna null para tokens emitidos antes das claims de usuário existirem.
+     */
+    public UsuarioDetalhesDto getUsuarioDetalhesFromClaims(Claims claims) {
+        String usuarioId = claims.get(CLAIM_USUARIO_ID, String.class);
+        if (usuarioId == null) return null;
+
+        String empresaId = claims.get(CLAIM_EMPRESA_ID, String.class);
+        String autoridades = claims.get(CLAIM_AUTORIDADES, String.class);
+
+        return new UsuarioDetalhesDto(
+                UUID.fromString(usuarioId),
+                claims.getSubject(),
+                empresaId != null ? UUID.fromString(empresaId) : null,
+                AuthorityUtils.commaSeparatedStringToAuthorityList(autoridades != null ? autoridades : ""));
+    }
+
     private boolean isTokenExpired(String token) {
         Date expirationDate = getExpirationDateFromToken(token);
         return expirationDate.before(new Date(System.currentTimeMillis()));
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(parseSecret())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    private SecretKey parseSecret() {
-        return Keys.hmacShaKeyFor(this.secret.getBytes(StandardCharsets.UTF_8));
+    private String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -2,7 +2,7 @@ package com.vulpix.api.controller;
 
 import com.vulpix.api.dto.dashboard.DashKpiDto;
 import com.vulpix.api.dto.dashboard.PostInsightsDto;
-import com.vulpix.api.entity.PostInsights;
+import com.vulpix.api.dto.dashboard.UltimaMetricaPostDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -33,9 +33,15 @@ public interface DashboardController {
                                                         [
                                                             {
                                                                 "id": "f7d10ae3-c9e5-46e8-9a20-d53420ff3b6a",
-                                                                "metrica": "Visualizações",
-                                                                "valor": 1200,
-                                                                "dataCriacao": "2024-11-01T15:30:00"
+                                                                "fk_publicacao": "0b1c2d3e-4f50-4a6b-8c7d-9e0f1a2b3c4d",
+                                                                "likes": 120,
+                                                                "comments": 8,
+                                                                "shares": 3,
+                                                                "saves": 5,
+                                                                "impressions": 1200,
+                                                                "profileVisits": 14,
+                                                                "follows": 2,
+                                                                "createdAt": "2024-11-01T15:30:00Z"
                                                             }
                                                         ]
                                                     """
@@ -52,7 +58,7 @@ public interface DashboardController {
             }
     )
     @GetMapping("/grafico-ultima-metrica-post")
-    ResponseEntity<List<PostInsights>> buscaUltimaMetricaPost();
+    ResponseEntity<List<UltimaMetricaPostDto>> buscaUltimaMetricaPost();
 
     @Operation(
             summary = "Busca métricas de posts por período",
@@ -97,7 +103,7 @@ public interface DashboardController {
 
     @Operation(
             summary = "Busca dados de KPIs",
-            description = "Retorna os principais indicadores de desempenho (KPIs) para a empresa do usuário autenticado.",
+            description = "Retorna os principais indicadores de desempenho (KPIs) para a empresa do usuário autenticado, opcionalmente filtrados por um intervalo de datas.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -125,5 +131,6 @@ public interface DashboardController {
             }
     )
     @GetMapping("/kpis")
-    ResponseEntity<DashKpiDto> buscaDadosKpi();
+    ResponseEntity<DashKpiDto> buscaDadosKpi(@RequestParam(required = false) LocalDate data_inicio,
+                                             @RequestParam(required = false) LocalDate data_fim);
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.vulpix.api.controller;
+
+import com.vulpix.api.dto.exportacao.ExportacaoStatusDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RequestMapping("/exportacoes")
+@Tag(name = "Exportação", description = "Exportação de publicações, insights e criativos da empresa para BI.")
+public interface ExportacaoController {
+    @Operation(
+            summary = "Exporta um dataset em streaming",
+            description = "Escreve o dataset (publicacoes, insights ou criativos) da empresa autenticada direto na resposta, em CSV ou NDJSON, opcionalmente compactado com gzip.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Exportação gerada com sucesso.",
+                            content = @Content(mediaType = "text/csv",
+                                    examples = @ExampleObject(value = """
+                                            id_publicacao,data_coleta,likes,comments,shares,saves,impressions,profile_visits,follows
+                                            17890000000001,2024-11-03T10:00,150,12,4,9,2300,31,2
+                                            """))),
+                    @ApiResponse(responseCode = "400", description = "Dataset, formato ou período inválido.",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(value = "{ \"status\": 400, \"detail\": \"Formato de exportação inválido: xml\", \"timestamp\": \"2025-03-17T16:59:50.5115104\" }")
+                            )
+                    )
+            }
+    )
+    @GetMapping("/{dataset}")
+    ResponseEntity<StreamingResponseBody> exportar(
+            @Parameter(description = "publicacoes, insights ou criativos", required = true) @PathVariable String dataset,
+            @RequestParam(defaultValue = "csv") String formato,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) LocalDate data_inicio,
+            @RequestParam(required = false) LocalDate data_fim);
+
+    @Operation(
+            summary = "Agenda uma exportação assíncrona",
+            description = "Gera a exportação em segundo plano. O andamento é consultado pela URL retornada em Location e o arquivo fica disponível para download (com suporte a Range) até expirar.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Exportação agendada.",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(value = """
+                                                {
+                                                    "id": "5f0c2b1e-8d7a-4c3b-9e6f-1a2b3c4d5e6f",
+                                                    "dataset": "insights",
+                                                    "formato": "ndjson",
+                                                    "gzip": true,
+                                                    "status": "PENDENTE",
+                                                    "linhas": 0
+                                                }
+                                            """)
+                            )
+                    ),
+                    @ApiResponse(responseCode = "429", description = "Fila de exportações cheia.",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(value = "{ \"status\": 429, \"detail\": \"Fila de exportações cheia, tente novamente em instantes.\", \"timestamp\": \"2025-03-17T16:59:50.5115104\" }")
+                            )
+                    )
+            }
+    )
+    @PostMapping("/{dataset}")
+    ResponseEntity<ExportacaoStatusDto> agendarExportacao(
+            @Parameter(description = "publicacoes, insights ou criativos", required = true) @PathVariable String dataset,
+            @RequestParam(defaultValue = "csv") String formato,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) LocalDate data_inicio,
+            @RequestParam(required = false) LocalDate data_fim);
+
+    @Operation(
+            summary = "Consulta uma exportação assíncrona",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Situação da exportação."),
+                    @ApiResponse(responseCode = "404", description = "Exportação não encontrada ou expirada.",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(value = "{ \"status\": 404, \"detail\": \"Exportação não encontrada.\", \"timestamp\": \"2025-03-17T16:59:50.5115104\" }")
+                            )
+                    )
+            }
+    )
+    @GetMapping("/tarefas/{id}")
+    ResponseEntity<ExportacaoStatusDto> buscarExportacao(@PathVariable UUID id);
+
+    @Operation(
+            summary = "Baixa o arquivo de uma exportação assíncrona",
+            description = "Aceita o header Range, permitindo retomar downloads interrompidos.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Arquivo completo."),
+                    @ApiResponse(responseCode = "206", description = "Trecho solicitado via Range."),
+                    @ApiResponse(responseCode = "409", description = "Exportação ainda não concluída.",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(value = "{ \"status\": 409, \"detail\": \"A exportação ainda não foi concluída.\", \"timestamp\": \"2025-03-17T16:59:50.5115104\" }")
+                            )
+                    )
+            }
+    )
+    @GetMapping("/tarefas/{id}/arquivo")
+    ResponseEntity<Resource> baixarExportacao(@PathVariable UUID id);
+}
@@ -1,33 +1,48 @@
 package com.vulpix.api.controller;
 
 import com.vulpix.api.dto.agent.PublicacaoGeradaRetorno;
+import com.vulpix.api.dto.publicacao.EngajamentoDto;
 import com.vulpix.api.dto.publicacao.GetPublicacaoDto;
 import com.vulpix.api.dto.publicacao.Insights.PublicacaoInsightDto;
 import com.vulpix.api.dto.publicacao.PostPublicacaoDto;
 import com.vulpix.api.dto.publicacao.PostPublicacaoResponse;
+import com.vulpix.api.dto.publicacao.PublicacaoStatusDto;
+import com.vulpix.api.dto.publicacao.PublicacoesPorPeriodoDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RequestMapping("/posts")
 @Tag(name = "Publicação")
 public interface PublicacaoController {
+    String HEADER_ULTIMA_SINCRONIZACAO = "X-Ultima-Sincronizacao";
+
     @Operation(summary = "Criar um novo post",
-            description = "Cria um novo post para a empresa informada. O post deve incluir a legenda e a URL da mídia.")
+            description = "Cria um novo post para a empresa informada. O post deve incluir a legenda e a URL da mídia. " +
+                    "Com data de agendamento futura o post é agendado (201); sem ela a publicação segue em segundo plano (202), " +
+                    "com o andamento em GET /posts/tarefas/{id} e no tópico STOMP /topic/empresas/{idEmpresa}/publicacoes.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Post criado com sucesso.",
+            @ApiResponse(responseCode = "201", description = "Post agendado com sucesso.",
                     content = @Content(mediaType = "application/json",
                             examples = {
-                                    @ExampleObject(value = "{ \"legenda\":\"Novo Post\",\"id\":\"1\",\"fkEmpresa\":\"empresa-1\" }")
+                                    @ExampleObject(value = "{ \"legenda\":\"Novo Post\",\"id\":\"1\",\"fk_empresa\":\"empresa-1\",\"status\":\"AGENDADA\" }")
+                            })),
+            @ApiResponse(responseCode = "202", description = "Publicação aceita e enfileirada.",
+                    content = @Content(mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(value = "{ \"legenda\":\"Novo Post\",\"id\":\"1\",\"fk_empresa\":\"empresa-1\",\"status\":\"PENDENTE\" }")
                             })),
             @ApiResponse(responseCode = "404", description = "Empresa não encontrada.",
                     content = @Content(
@@ -39,6 +54,24 @@ public interface PublicacaoController {
     @PostMapping
     ResponseEntity<PostPublicacaoResponse> criarPost(@RequestBody PostPublicacaoDto post);
 
+    @Operation(summary = "Status de uma publicação",
+            description = "Retorna o andamento de uma publicação enviada em segundo plano: PENDENTE, PUBLICANDO, PUBLICADA ou FALHA.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status da publicação.",
+                    content = @Content(mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(value = "{ \"id\":\"3f1c...\",\"status\":\"PENDENTE\",\"idReturned\":null,\"tentativas\":1,\"erro\":\"Erro ao criar o container: ...\",\"proximaTentativa\":\"2025-03-17T17:00:20Z\",\"atualizadoEm\":\"2025-03-17T16:59:50Z\" }")
+                            })),
+            @ApiResponse(responseCode = "404", description = "Publicação não encontrada.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(value = "{ \"status\": 404, \"detail\": \"Publicação não encontrada.\", \"timestamp\": \"2025-03-17T16:59:50.5115104\" }")
+                    )
+            )
+    })
+    @GetMapping("/tarefas/{id}")
+    ResponseEntity<PublicacaoStatusDto> buscarStatusPublicacao(@PathVariable UUID id);
+
     @Operation(summary = "Gera uma publicação criativa com a AI",
             description = "Gera uma publicação baseada na solicitação do usuário autenticado.",
             responses = {
@@ -88,7 +121,9 @@ public interface PublicacaoController {
     ResponseEntity<Map<String, String>> gerarLegenda(@RequestBody String userRequest);
 
     @Operation(summary = "Buscar posts por empresa",
-            description = "Retorna uma lista de publicações associadas a uma empresa especificada pelo ID.")
+            description = "Retorna uma lista de publicações associadas a uma empresa especificada pelo ID, lida direto do banco. " +
+                    "A data da última sincronização com o Instagram vem no header X-Ultima-Sincronizacao e refresh=true " +
+                    "enfileira uma nova sincronização sem aguardar o resultado.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de publicações retornada com sucesso.",
                     content = @Content(mediaType = "application/json",
@@ -112,27 +147,55 @@ public interface PublicacaoController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String dataInicio,
-            @RequestParam(required = false) String dataFim
+            @RequestParam(required = false) String dataFim,
+            @RequestParam(defaultValue = "false") boolean refresh
     );
 
-    @Operation(summary = "Somar likes das publicações utilizando Recursão",
-            description = "Retorna a soma total de likes de todas as publicações da empresa especificada pelo ID.")
+    @Operation(summary = "Somar likes das publicações",
+            description = "Retorna a soma total de likes de todas as publicações da empresa autenticada, calculada no banco.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Soma total de likes retornada com sucesso.",
                     content = @Content(mediaType = "application/json",
                             examples = {
-                                    @ExampleObject(value = "{ \"likes\": 150 }")
+                                    @ExampleObject(value = "150")
                             })),
             @ApiResponse(responseCode = "204", description = "Nenhuma publicação encontrada para somar os likes.", content = @Content(examples = @ExampleObject()))
     })
     @GetMapping("/somar-likes-publicacao")
-    ResponseEntity<Integer> somarLikes();
+    ResponseEntity<Long> somarLikes();
+
+    @Operation(summary = "Buscar engajamento das publicações",
+            description = "Retorna o total de likes, a quantidade de publicações e a média de likes por publicação da empresa autenticada, opcionalmente filtrados por período.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Engajamento retornado com sucesso.",
+                    content = @Content(mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(value = """
+                                            {
+                                                "dataInicio": "2024-11-01",
+                                                "dataFim": "2024-11-30",
+                                                "totalLikes": 1530,
+                                                "totalPosts": 12,
+                                                "mediaLikes": 127.50
+                                            }
+                                            """)
+                            })),
+            @ApiResponse(responseCode = "400", description = "Período inválido.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(value = "{ \"status\": 400, \"detail\": \"Data de início não pode ser posterior à data de fim.\", \"timestamp\": \"2025-03-17T16:59:50.5115104\" }")
+                    )
+            )
+    })
+    @GetMapping("/engajamento")
+    ResponseEntity<EngajamentoDto> buscarEngajamento(@RequestParam(required = false) LocalDate data_inicio,
+                                                     @RequestParam(required = false) LocalDate data_fim);
 
     @Operation(summary = "Buscar publicações por data",
-            description = "Retorna a publicação da empresa especificada pelo ID e pela data de publicação informada.")
+            description = "Retorna a primeira publicação da empresa autenticada na data informada (yyyy-MM-dd, UTC).")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Publicação encontrada com sucesso.", content = @Content(examples = @ExampleObject())),
-            @ApiResponse(responseCode = "204", description = "Nenhuma publicação encontrada para a data especificada.", content = @Content(examples = @ExampleObject())),
+            @ApiResponse(responseCode = "204", description = "A empresa não possui publicações.", content = @Content(examples = @ExampleObject())),
             @ApiResponse(responseCode = "400", description = "Requisição inválida.",
                     content = @Content(
                             mediaType = "application/json",
@@ -143,8 +206,38 @@ public interface PublicacaoController {
     @GetMapping("/buscar-por-data")
     ResponseEntity<GetPublicacaoDto> buscarPorData(@RequestParam String dataPublicacao);
 
+    @Operation(summary = "Buscar publicações por período",
+            description = "Retorna as publicações da empresa autenticada entre as datas informadas (inclusive, UTC), em ordem cronológica. " +
+                    "Para a próxima página, envie o proximoCursor retornado.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Publicações encontradas com sucesso.",
+                    content = @Content(mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(value = """
+                                            {
+                                                "posts": [
+                                                    { "id":"1","legenda":"Post 1","tipoMidia":"image","urlMidia":"http://exemplo.com/post1","dataPublicacao":"2024-11-01T10:00:00Z","likeCount":10 }
+                                                ],
+                                                "proximoCursor": "MjAyNC0xMS0wMVQxMDowMFp8NGY..."
+                                            }
+                                            """)
+                            })),
+            @ApiResponse(responseCode = "204", description = "Nenhuma publicação no período.", content = @Content(examples = @ExampleObject())),
+            @ApiResponse(responseCode = "400", description = "Período ou cursor inválido.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(value = "{ \"status\": 400, \"detail\": \"Cursor de paginação inválido.\", \"timestamp\": \"2025-03-17T16:59:50.5115104\" }")
+                    )
+            )
+    })
+    @GetMapping("/periodo")
+    ResponseEntity<PublicacoesPorPeriodoDto> buscarPorPeriodo(@RequestParam LocalDate data_inicio,
+                                                              @RequestParam LocalDate data_fim,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "50") int limite);
+
     @Operation(summary = "Exportar publicações para CSV",
-            description = "Gera um arquivo CSV contendo todas as publicações da empresa associada ao usuário autenticado.")
+            description = "Gera um arquivo CSV contendo todas as publicações da empresa associada ao usuário autenticado, escrito em streaming direto na resposta.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Arquivo CSV gerado e retornado com sucesso.",
                     content = @Content(mediaType = "text/csv",
@@ -164,7 +257,7 @@ public interface PublicacaoController {
             )
     })
     @GetMapping("/exportar-csv")
-    ResponseEntity<InputStreamResource> exportarPublicacoesCSV();
+    ResponseEntity<StreamingResponseBody> exportarPublicacoesCSV();
 
     @Operation(
             summary = "Busca um insight por ID",
@@ -197,5 +290,5 @@ public interface PublicacaoController {
             }
     )
     @GetMapping("/{id}")
-    ResponseEntity<PublicacaoInsightDto> buscaInsightPorId(@PathVariable String id);
+    CompletableFuture<ResponseEntity<PublicacaoInsightDto>> buscaInsightPorId(@PathVariable String id);
 }
\ No newline at end of file
@@ -5,12 +5,10 @@ import com.vulpix.api.dto.criativo.CriativoRequisicaoDto;
 import com.vulpix.api.dto.criativo.CriativoResponseDto;
 import com.vulpix.api.entity.Empresa;
 import com.vulpix.api.service.integracoes.agentai.CriativosService;
-import com.vulpix.api.service.usuario.autenticacao.UsuarioAutenticadoUtil;
 import com.vulpix.api.utils.helpers.EmpresaHelper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -19,9 +17,6 @@ import java.util.UUID;
 
 @RestController
 public class CriativoControllerImpl implements CriativoController {
-    @Autowired
-    private UsuarioAutenticadoUtil usuarioAutenticadoUtil;
-
     @Autowired
     private EmpresaHelper empresaHelper;
 
@@ -35,9 +30,7 @@ public class CriativoControllerImpl implements CriativoController {
             @RequestParam(required = false) String dataInicio,
             @RequestParam(required = false) String dataFim
     ) {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         Page<CriativoResponseDto> criativos = criativosService.buscaCriativosGerados(empresa, page, size, dataInicio, dataFim);
 
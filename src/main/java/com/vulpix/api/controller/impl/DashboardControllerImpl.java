@@ -3,14 +3,12 @@ package com.vulpix.api.controller.impl;
 import com.vulpix.api.controller.DashboardController;
 import com.vulpix.api.dto.dashboard.DashKpiDto;
 import com.vulpix.api.dto.dashboard.PostInsightsDto;
+import com.vulpix.api.dto.dashboard.UltimaMetricaPostDto;
 import com.vulpix.api.entity.Empresa;
-import com.vulpix.api.entity.PostInsights;
 import com.vulpix.api.service.DashboardService;
-import com.vulpix.api.service.usuario.autenticacao.UsuarioAutenticadoUtil;
 import com.vulpix.api.utils.helpers.EmpresaHelper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -19,9 +17,6 @@ import java.util.List;
 
 @RestController
 public class DashboardControllerImpl implements DashboardController {
-    @Autowired
-    private UsuarioAutenticadoUtil usuarioAutenticadoUtil;
-
     @Autowired
     private EmpresaHelper empresaHelper;
 
@@ -29,12 +24,10 @@ public class DashboardControllerImpl implements DashboardController {
     private DashboardService dashboardService;
 
     @Override
-    public ResponseEntity<List<PostInsights>> buscaUltimaMetricaPost() {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+    public ResponseEntity<List<UltimaMetricaPostDto>> buscaUltimaMetricaPost() {
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
-        List<PostInsights> response = dashboardService.buscaMetricaUltimoPost(empresa);
+        List<UltimaMetricaPostDto> response = dashboardService.buscaMetricaUltimoPost(empresa);
 
         if (response.isEmpty()) {
             return ResponseEntity.status(204).build();
@@ -45,9 +38,7 @@ public class DashboardControllerImpl implements DashboardController {
 
     @Override
     public ResponseEntity<List<PostInsightsDto>> buscaMetricasPorDia(@RequestParam LocalDate data_inicio, @RequestParam LocalDate data_fim) {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         List<PostInsightsDto> response = dashboardService.buscaMetricasPorDia(empresa, data_inicio, data_fim);
 
@@ -59,12 +50,11 @@ public class DashboardControllerImpl implements DashboardController {
     }
 
     @Override
-    public ResponseEntity<DashKpiDto> buscaDadosKpi() {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+    public ResponseEntity<DashKpiDto> buscaDadosKpi(@RequestParam(required = false) LocalDate data_inicio,
+                                                    @RequestParam(required = false) LocalDate data_fim) {
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
-        DashKpiDto response = dashboardService.buscaKpisPorPeriodo(empresa);
+        DashKpiDto response = dashboardService.buscaKpisPorPeriodo(empresa, data_inicio, data_fim);
 
         if (response == null) {
             return ResponseEntity.status(204).build();
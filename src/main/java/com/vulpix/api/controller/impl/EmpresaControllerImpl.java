@@ -5,11 +5,9 @@ import com.vulpix.api.dto.empresa.EmpresaEditDto;
 import com.vulpix.api.dto.empresa.FormularioRequisicaoDto;
 import com.vulpix.api.entity.Empresa;
 import com.vulpix.api.service.EmpresaService;
-import com.vulpix.api.service.usuario.autenticacao.UsuarioAutenticadoUtil;
 import com.vulpix.api.utils.helpers.EmpresaHelper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -18,17 +16,13 @@ public class EmpresaControllerImpl implements EmpresaController {
     @Autowired
     private EmpresaService empresaService;
 
-    @Autowired
-    private UsuarioAutenticadoUtil usuarioAutenticadoUtil;
 
     @Autowired
     private EmpresaHelper empresaHelper;
 
     @Override
     public ResponseEntity<EmpresaEditDto> atualizar(@RequestBody EmpresaEditDto empresaAtualizada) {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         EmpresaEditDto empresaAtualizadaSalva = empresaService.atualizarEmpresa(empresa, empresaAtualizada);
         return ResponseEntity.status(200).body(empresaAtualizadaSalva);
@@ -36,9 +30,7 @@ public class EmpresaControllerImpl implements EmpresaController {
 
     @Override
     public ResponseEntity<FormularioRequisicaoDto> cadastrarFormulario(@RequestBody FormularioRequisicaoDto formulario) {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         FormularioRequisicaoDto retorno = empresaService.cadastrarFormulario(empresa, formulario);
 
@@ -47,9 +39,7 @@ public class EmpresaControllerImpl implements EmpresaController {
 
     @Override
     public ResponseEntity<FormularioRequisicaoDto> buscaFormulario() {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         FormularioRequisicaoDto formularioResponse = empresaService.buscaFormulario(empresa);
 
@@ -58,9 +48,7 @@ public class EmpresaControllerImpl implements EmpresaController {
 
     @Override
     public ResponseEntity<FormularioRequisicaoDto> atualizaFormulario(@RequestBody FormularioRequisicaoDto formulario) {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         FormularioRequisicaoDto retorno = empresaService.atualizaFormulario(empresa, formulario);
         return ResponseEntity.status(200).body(retorno);
@@ -0,0 +1,106 @@
+package com.vulpix.api.controller.impl;
+
+import com.vulpix.api.controller.ExportacaoController;
+import com.vulpix.api.dto.exportacao.ExportacaoMapper;
+import com.vulpix.api.dto.exportacao.ExportacaoStatusDto;
+import com.vulpix.api.entity.Empresa;
+import com.vulpix.api.entity.TarefaExportacao;
+import com.vulpix.api.exception.exceptions.ConflitoException;
+import com.vulpix.api.exception.exceptions.RequisicaoInvalidaException;
+import com.vulpix.api.service.exportacao.ExportacaoService;
+import com.vulpix.api.service.exportacao.FiltroExportacao;
+import com.vulpix.api.utils.enums.DatasetExportacao;
+import com.vulpix.api.utils.enums.FormatoExportacao;
+import com.vulpix.api.utils.enums.StatusExportacao;
+import com.vulpix.api.utils.helpers.EmpresaHelper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+public class ExportacaoControllerImpl implements ExportacaoController {
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private EmpresaHelper empresaHelper;
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportar(@PathVariable String dataset,
+                                                          @RequestParam(defaultValue = "csv") String formato,
+                                                          @RequestParam(defaultValue = "false") boolean gzip,
+                                                          @RequestParam(required = false) LocalDate data_inicio,
+                                                          @RequestParam(required = false) LocalDate data_fim) {
+        FiltroExportacao filtro = criarFiltro(dataset, formato, gzip, data_inicio, data_fim);
+
+        StreamingResponseBody corpo = saida -> exportacaoService.exportar(filtro, saida);
+        return ResponseEntity.status(200)
+                .header(HttpHeaders.CONTENT_DISPOSITION, anexo(filtro))
+                .contentType(MediaType.parseMediaType(filtro.tipoConteudo()))
+                .body(corpo);
+    }
+
+    @Override
+    public ResponseEntity<ExportacaoStatusDto> agendarExportacao(@PathVariable String dataset,
+                                                                 @RequestParam(defaultValue = "csv") String formato,
+                                                                 @RequestParam(defaultValue = "false") boolean gzip,
+                                                                 @RequestParam(required = false) LocalDate data_inicio,
+                                                                 @RequestParam(required = false) LocalDate data_fim) {
+        FiltroExportacao filtro = criarFiltro(dataset, formato, gzip, data_inicio, data_fim);
+        TarefaExportacao tarefa = exportacaoService.agendar(filtro);
+
+        return ResponseEntity.status(202)
+                .location(URI.create("/api/exportacoes/tarefas/" + tarefa.getId()))
+                .body(ExportacaoMapper.toStatusDto(tarefa));
+    }
+
+    @Override
+    public ResponseEntity<ExportacaoStatusDto> buscarExportacao(@PathVariable UUID id) {
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
+
+        TarefaExportacao tarefa = exportacaoService.buscarTarefa(empresa.getId(), id);
+        return ResponseEntity.status(200).body(ExportacaoMapper.toStatusDto(tarefa));
+    }
+
+    @Override
+    public ResponseEntity<Resource> baixarExportacao(@PathVariable UUID id) {
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
+
+        TarefaExportacao tarefa = exportacaoService.buscarTarefa(empresa.getId(), id);
+        if (tarefa.getStatus() != StatusExportacao.CONCLUIDA) {
+            throw new ConflitoException("A exportação ainda não foi concluída.");
+        }
+
+        // O Spring atende o header Range para corpos do tipo Resource (206 Partial Content)
+        return ResponseEntity.status(200)
+                .header(HttpHeaders.CONTENT_DISPOSITION, anexo(tarefa.getFiltro()))
+                .contentType(MediaType.parseMediaType(tarefa.getFiltro().tipoConteudo()))
+                .body(new FileSystemResource(exportacaoService.buscarArquivo(tarefa)));
+    }
+
+    private FiltroExportacao criarFiltro(String dataset, String formato, boolean gzip, LocalDate dataInicio, LocalDate dataFim) {
+        if (dataInicio != null && dataFim != null && dataInicio.isAfter(dataFim)) {
+            throw new RequisicaoInvalidaException("Data de início não pode ser posterior à data de fim.");
+        }
+
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
+        return new FiltroExportacao(empresa.getId(), DatasetExportacao.deNome(dataset), FormatoExportacao.deNome(formato),
+                gzip, dataInicio, dataFim);
+    }
+
+    private String anexo(FiltroExportacao filtro) {
+        return ContentDisposition.attachment().filename(filtro.nomeArquivo()).build().toString();
+    }
+}
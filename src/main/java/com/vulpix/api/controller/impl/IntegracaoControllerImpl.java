@@ -8,12 +8,10 @@ import com.vulpix.api.entity.Empresa;
 import com.vulpix.api.entity.Integracao;
 import com.vulpix.api.service.EmpresaService;
 import com.vulpix.api.service.IntegracaoService;
-import com.vulpix.api.service.usuario.autenticacao.UsuarioAutenticadoUtil;
 import com.vulpix.api.utils.enums.TipoIntegracao;
 import com.vulpix.api.utils.helpers.EmpresaHelper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -22,8 +20,6 @@ public class IntegracaoControllerImpl implements IntegracaoController {
     @Autowired
     private IntegracaoService integracaoService;
 
-    @Autowired
-    private UsuarioAutenticadoUtil usuarioAutenticadoUtil;
 
     @Autowired
     private EmpresaService empresaService;
@@ -33,9 +29,7 @@ public class IntegracaoControllerImpl implements IntegracaoController {
 
     @Override
     public ResponseEntity<Integracao> habilitar(@RequestBody IntegracaoDto novaIntegracao) {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         Integracao integracao = IntegracaoMapper.criaEntidadeIntegracao(novaIntegracao, empresa);
         Integracao integracaoSalva = integracaoService.cadastrarIntegracao(integracao, empresa);
@@ -45,9 +39,7 @@ public class IntegracaoControllerImpl implements IntegracaoController {
 
     @Override
     public ResponseEntity<Integracao> atualizar(@RequestBody IntegracaoUpdateDto integracaoAtualizada) {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         Integracao integracaoExistente = integracaoService.buscaIntegracaoPorTipo(empresa, TipoIntegracao.INSTAGRAM);
         Integracao integracao = IntegracaoMapper.criaEntidadeAtualizada(empresa, integracaoAtualizada);
@@ -58,9 +50,7 @@ public class IntegracaoControllerImpl implements IntegracaoController {
 
     @Override
     public ResponseEntity<Void> deletar() {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         Integracao integracaoExistente = integracaoService.buscaIntegracaoPorTipo(empresa, TipoIntegracao.INSTAGRAM);
 
@@ -70,18 +60,14 @@ public class IntegracaoControllerImpl implements IntegracaoController {
 
     @Override
     public boolean possuiIntegracao() {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         return integracaoService.verificaExistenciaIntegracaoPorTipo(empresa, TipoIntegracao.INSTAGRAM);
     }
 
     @Override
     public ResponseEntity<Integracao> retornaIntegracao() {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         Integracao retorno = integracaoService.retornaIntegracao(empresa);
 
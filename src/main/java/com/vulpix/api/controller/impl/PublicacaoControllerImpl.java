@@ -2,10 +2,13 @@ package com.vulpix.api.controller.impl;
 
 import com.vulpix.api.controller.PublicacaoController;
 import com.vulpix.api.dto.agent.PublicacaoGeradaRetorno;
+import com.vulpix.api.dto.publicacao.EngajamentoDto;
 import com.vulpix.api.dto.publicacao.GetPublicacaoDto;
 import com.vulpix.api.dto.publicacao.Insights.PublicacaoInsightDto;
 import com.vulpix.api.dto.publicacao.PostPublicacaoDto;
 import com.vulpix.api.dto.publicacao.PostPublicacaoResponse;
+import com.vulpix.api.dto.publicacao.PublicacaoStatusDto;
+import com.vulpix.api.dto.publicacao.PublicacoesPorPeriodoDto;
 import com.vulpix.api.entity.Empresa;
 import com.vulpix.api.entity.Integracao;
 import com.vulpix.api.entity.Publicacao;
@@ -13,32 +16,42 @@ import com.vulpix.api.repository.EmpresaRepository;
 import com.vulpix.api.repository.PublicacaoRepository;
 import com.vulpix.api.service.EmpresaService;
 import com.vulpix.api.service.integracoes.graph.PublicacaoService;
-import com.vulpix.api.service.usuario.autenticacao.UsuarioAutenticadoUtil;
+import com.vulpix.api.service.integracoes.graph.PublicacaoTarefaService;
+import com.vulpix.api.service.integracoes.graph.SincronizacaoScheduler;
 import com.vulpix.api.utils.enums.StatusPublicacao;
 import com.vulpix.api.utils.enums.TipoIntegracao;
 import com.vulpix.api.utils.helpers.EmpresaHelper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 public class PublicacaoControllerImpl implements PublicacaoController {
     @Autowired
     private PublicacaoService publicacaoService;
 
+    @Autowired
+    private PublicacaoTarefaService publicacaoTarefaService;
+
+    @Autowired
+    private SincronizacaoScheduler sincronizacaoScheduler;
+
     @Autowired
     private PublicacaoRepository publicacaoRepository;
 
@@ -48,17 +61,13 @@ public class PublicacaoControllerImpl implements PublicacaoController {
     @Autowired
     private EmpresaService empresaService;
 
-    @Autowired
-    private UsuarioAutenticadoUtil usuarioAutenticadoUtil;
 
     @Autowired
     private EmpresaHelper empresaHelper;
 
     @Override
     public ResponseEntity<PostPublicacaoResponse> criarPost(@RequestBody PostPublicacaoDto post) {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         if (empresa == null) return ResponseEntity.status(404).build();
 
@@ -86,14 +95,17 @@ public class PublicacaoControllerImpl implements PublicacaoController {
             return ResponseEntity.status(404).build();
         }
 
-        Long containerId = publicacaoService.criarContainer(integracao, novoPost);
-        String postIdReturned = publicacaoService.criarPublicacao(integracao, containerId);
-        novoPost.setIdReturned(postIdReturned);
-        novoPost.setDataPublicacao(OffsetDateTime.now());
-        novoPost.setStatus(StatusPublicacao.PUBLICADA);
+        Publicacao postSalvo = publicacaoTarefaService.criarTarefa(novoPost);
+        return ResponseEntity.status(202)
+                .location(URI.create("/api/posts/tarefas/" + postSalvo.getId()))
+                .body(createResponseDto(postSalvo));
+    }
+
+    @Override
+    public ResponseEntity<PublicacaoStatusDto> buscarStatusPublicacao(@PathVariable UUID id) {
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
-        Publicacao postSalvo = publicacaoRepository.save(novoPost);
-        return ResponseEntity.status(201).body(createResponseDto(postSalvo));
+        return ResponseEntity.status(200).body(publicacaoTarefaService.buscarStatus(empresa.getId(), id));
     }
 
     private PostPublicacaoResponse createResponseDto(Publicacao post) {
@@ -101,14 +113,13 @@ public class PublicacaoControllerImpl implements PublicacaoController {
         responseDto.setLegenda(post.getLegenda());
         responseDto.setId(post.getId());
         responseDto.setFkEmpresa(post.getEmpresa().getId());
+        responseDto.setStatus(post.getStatus());
         return responseDto;
     }
 
     @Override
     public ResponseEntity<PublicacaoGeradaRetorno> gerarPublicacao(@RequestBody String userRequest) {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         PublicacaoGeradaRetorno retorno = empresaService.buscaCriativos(empresa, userRequest);
 
@@ -119,9 +130,7 @@ public class PublicacaoControllerImpl implements PublicacaoController {
 
     @Override
     public ResponseEntity<Map<String, String>> gerarLegenda(@RequestBody String userRequest) {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         String legenda = empresaService.buscaLegenda(empresa, userRequest);
 
@@ -138,127 +147,99 @@ public class PublicacaoControllerImpl implements PublicacaoController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String dataInicio,
-            @RequestParam(required = false) String dataFim) {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+            @RequestParam(required = false) String dataFim,
+            @RequestParam(defaultValue = "false") boolean refresh) {
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
+
+        Optional<LocalDateTime> ultimaSincronizacao = sincronizacaoScheduler.verificarSincronizacao(empresa.getId(), refresh);
+        HttpHeaders headers = new HttpHeaders();
+        ultimaSincronizacao.ifPresent(data -> headers.add(HEADER_ULTIMA_SINCRONIZACAO, data.toString()));
 
         Page<GetPublicacaoDto> posts = publicacaoService.buscarPosts(empresa.getId(), page, size, dataInicio, dataFim);
-        if (posts.isEmpty()) return ResponseEntity.status(204).build();
-        return ResponseEntity.ok(posts);
+        if (posts.isEmpty()) return ResponseEntity.status(204).headers(headers).build();
+        return ResponseEntity.ok().headers(headers).body(posts);
     }
 
     @Override
-    public ResponseEntity<Integer> somarLikes() {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
-
+    public ResponseEntity<Long> somarLikes() {
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
-        List<GetPublicacaoDto> posts = publicacaoService.buscarPostsSemPaginacao(empresa.getId());
-
-        if (posts != null && !posts.isEmpty()) {
-            int somaLikes = somarLikesRecursivo(posts, 0);
-            return ResponseEntity.status(200).body(somaLikes);
+        EngajamentoDto engajamento = publicacaoService.buscarEngajamento(empresa.getId(), null, null);
+        if (engajamento.getTotalPosts() == 0) {
+            return ResponseEntity.status(204).build();
         }
 
-        return ResponseEntity.status(204).build();
+        return ResponseEntity.status(200).body(engajamento.getTotalLikes());
     }
 
-    private int somarLikesRecursivo(List<GetPublicacaoDto> posts, int index) {
-        if (index >= posts.size()) {
-            return 0;
-        }
-        return posts.get(index).getLikeCount() + somarLikesRecursivo(posts, index + 1);
+    @Override
+    public ResponseEntity<EngajamentoDto> buscarEngajamento(@RequestParam(required = false) LocalDate data_inicio,
+                                                            @RequestParam(required = false) LocalDate data_fim) {
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
+
+        EngajamentoDto engajamento = publicacaoService.buscarEngajamento(empresa.getId(), data_inicio, data_fim);
+        return ResponseEntity.status(200).body(engajamento);
     }
 
     @Override
     public ResponseEntity<GetPublicacaoDto> buscarPorData(@RequestParam String dataPublicacao) {
+        LocalDate dia;
         try {
-            OffsetDateTime dataBusca = OffsetDateTime.parse(dataPublicacao + "T00:00:00Z");
-            UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-            String emailUsuario = userDetails.getUsername();
-            Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
-
-
-            List<GetPublicacaoDto> posts = publicacaoService.buscarPostsSemPaginacao(empresa.getId());
-
-            if (posts == null || posts.isEmpty()) {
-                return ResponseEntity.status(204).build();
-            }
-
-            posts.sort(Comparator.comparing(GetPublicacaoDto::getDataPublicacao));
-            return posts.stream()
-                    .filter(post -> post.getDataPublicacao().toLocalDate().isEqual(dataBusca.toLocalDate()))
-                    .findFirst()
-                    .map(ResponseEntity::ok)
-                    .orElse(ResponseEntity.status(404).build());
-        } catch (Exception e) {
+            dia = LocalDate.parse(dataPublicacao);
+        } catch (DateTimeParseException e) {
             return ResponseEntity.status(400).build();
         }
-    }
-
-    @Override
-    public ResponseEntity<InputStreamResource> exportarPublicacoesCSV() {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
 
-        List<GetPublicacaoDto> posts = publicacaoService.buscarPostsSemPaginacao(empresa.getId());
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
+        Optional<GetPublicacaoDto> post = publicacaoService.buscarPrimeiroPostDoDia(empresa.getId(), dia);
+        if (post.isPresent()) return ResponseEntity.ok(post.get());
 
-        if (posts == null || posts.isEmpty()) {
+        if (!publicacaoRepository.existsByEmpresaId(empresa.getId())) {
             return ResponseEntity.status(204).build();
         }
+        return ResponseEntity.status(404).build();
+    }
 
-        Queue<GetPublicacaoDto> filaPosts = new LinkedList<>(posts);
-
-        Stack<String> pilhaLinhas = new Stack<>();
-        pilhaLinhas.push("ID,Legenda,Tipo Mídia,URL Mídia,Data Publicação,Likes\n");
-
-        while (!filaPosts.isEmpty()) {
-            GetPublicacaoDto post = filaPosts.poll();
-            String linha = String.format("%s,%s,%s,%s,%s,%d\n",
-                    post.getId(),
-                    post.getLegenda(),
-                    post.getTipoMidia(),
-                    post.getUrlMidia(),
-                    post.getDataPublicacao() != null ? post.getDataPublicacao().toString() : "",
-                    post.getLikeCount() != null ? post.getLikeCount() : 0);
-            pilhaLinhas.push(linha);
-        }
+    @Override
+    public ResponseEntity<PublicacoesPorPeriodoDto> buscarPorPeriodo(@RequestParam LocalDate data_inicio,
+                                                                     @RequestParam LocalDate data_fim,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "50") int limite) {
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
-        String arquivo = "publicacao.csv";
-        try (OutputStream file = new FileOutputStream(arquivo);
-             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(file))) {
+        PublicacoesPorPeriodoDto pagina = publicacaoService.buscarPostsPorPeriodo(empresa.getId(), data_inicio, data_fim, cursor, limite);
+        if (pagina.getPosts().isEmpty()) return ResponseEntity.status(204).build();
 
-            while (!pilhaLinhas.isEmpty()) {
-                writer.write(pilhaLinhas.pop());
-            }
+        return ResponseEntity.status(200).body(pagina);
+    }
 
-            InputStreamResource resource = new InputStreamResource(new FileInputStream(arquivo));
-            return ResponseEntity.status(200)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + arquivo)
-                    .contentType(MediaType.parseMediaType("text/csv"))
-                    .body(resource);
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportarPublicacoesCSV() {
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
+        UUID idEmpresa = empresa.getId();
 
-        } catch (IOException e) {
-            System.err.println("Erro ao exportar os dados: " + e.getMessage());
-            return ResponseEntity.status(500).build();
+        if (!publicacaoRepository.existsByEmpresaId(idEmpresa)) {
+            return ResponseEntity.status(204).build();
         }
+
+        StreamingResponseBody corpo = saida -> publicacaoService.exportarCsv(idEmpresa, saida);
+        return ResponseEntity.status(200)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"publicacoes.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(corpo);
     }
 
     @Override
-    public ResponseEntity<PublicacaoInsightDto> buscaInsightPorId(@PathVariable String id) {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+    public CompletableFuture<ResponseEntity<PublicacaoInsightDto>> buscaInsightPorId(@PathVariable String id) {
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
-        if (empresa == null) return ResponseEntity.status(404).build();
+        if (empresa == null) return CompletableFuture.completedFuture(ResponseEntity.status(404).build());
 
-        PublicacaoInsightDto response = publicacaoService.buscaInsightPost(id, empresa.getId());
-        if (response == null) return ResponseEntity.status(404).build();
+        return publicacaoService.buscaInsightPost(id, empresa.getId()).thenApply(response -> {
+            if (response == null) return ResponseEntity.status(404).<PublicacaoInsightDto>build();
 
-        return ResponseEntity.status(200).body(response);
+            return ResponseEntity.status(200).body(response);
+        });
     }
 }
\ No newline at end of file
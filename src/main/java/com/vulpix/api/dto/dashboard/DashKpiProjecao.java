@@ -0,0 +1,10 @@
+package com.vulpix.api.dto.dashboard;
+
+import java.math.BigDecimal;
+
+public interface DashKpiProjecao {
+    BigDecimal getTaxaCompartilhamento();
+    BigDecimal getTaxaSaves();
+    Integer getVisualizacoesTotais();
+    Integer getAlcanceUltimoPost();
+}
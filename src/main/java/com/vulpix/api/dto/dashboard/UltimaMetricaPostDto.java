@@ -0,0 +1,25 @@
+package com.vulpix.api.dto.dashboard;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// Imutável porque a mesma instância é compartilhada entre requisições pelo cache do dashboard
+@Value
+@Builder
+public class UltimaMetricaPostDto {
+    UUID id;
+    @JsonProperty("fk_publicacao")
+    UUID fkPublicacao;
+    Integer likes;
+    Integer comments;
+    Integer shares;
+    Integer saves;
+    Integer impressions;
+    Integer profileVisits;
+    Integer follows;
+    OffsetDateTime createdAt;
+}
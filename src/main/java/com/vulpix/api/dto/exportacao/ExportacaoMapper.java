@@ -0,0 +1,28 @@
+package com.vulpix.api.dto.exportacao;
+
+import com.vulpix.api.entity.TarefaExportacao;
+import com.vulpix.api.service.exportacao.FiltroExportacao;
+import com.vulpix.api.utils.enums.StatusExportacao;
+
+public class ExportacaoMapper {
+    public static ExportacaoStatusDto toStatusDto(TarefaExportacao tarefa) {
+        FiltroExportacao filtro = tarefa.getFiltro();
+        boolean concluida = tarefa.getStatus() == StatusExportacao.CONCLUIDA;
+
+        return ExportacaoStatusDto.builder()
+                .id(tarefa.getId())
+                .dataset(filtro.dataset().getNome())
+                .formato(filtro.formato().getExtensao())
+                .gzip(filtro.gzip())
+                .dataInicio(filtro.dataInicio())
+                .dataFim(filtro.dataFim())
+                .status(tarefa.getStatus())
+                .linhas(tarefa.getLinhas())
+                .tamanhoBytes(tarefa.getTamanhoBytes())
+                .criadaEm(tarefa.getCriadaEm())
+                .concluidaEm(tarefa.getConcluidaEm())
+                .erro(tarefa.getErro())
+                .urlDownload(concluida ? "/api/exportacoes/tarefas/" + tarefa.getId() + "/arquivo" : null)
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.vulpix.api.dto.exportacao;
+
+import com.vulpix.api.utils.enums.StatusExportacao;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExportacaoStatusDto {
+    private UUID id;
+    private String dataset;
+    private String formato;
+    private boolean gzip;
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private StatusExportacao status;
+    private long linhas;
+    private long tamanhoBytes;
+    private LocalDateTime criadaEm;
+    private LocalDateTime concluidaEm;
+    private String erro;
+    private String urlDownload;
+}
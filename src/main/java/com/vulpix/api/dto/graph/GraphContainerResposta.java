@@ -0,0 +1,20 @@
+package com.vulpix.api.dto.graph;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resposta de {id-container}?fields=status_code,status
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphContainerResposta {
+    // EXPIRED, ERROR, FINISHED, IN_PROGRESS ou PUBLISHED
+    @JsonProperty("status_code")
+    private String statusCode;
+    // Detalhe do erro quando status_code = ERROR
+    private String status;
+}
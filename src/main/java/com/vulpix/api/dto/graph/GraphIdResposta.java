@@ -0,0 +1,15 @@
+package com.vulpix.api.dto.graph;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resposta da criacao de container e da publicacao (media e media_publish)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphIdResposta {
+    private String id;
+}
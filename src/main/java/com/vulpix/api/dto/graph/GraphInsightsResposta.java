@@ -0,0 +1,41 @@
+package com.vulpix.api.dto.graph;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Resposta de {id-midia}/insights
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphInsightsResposta {
+    private List<Metrica> data;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Metrica {
+        private String name;
+        private List<Valor> values;
+
+        public int primeiroValor() {
+            if (values == null || values.isEmpty() || values.get(0).getValue() == null) return 0;
+            return values.get(0).getValue().asInt(0);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Valor {
+        // Algumas metricas devolvem um objeto em vez de numero
+        private JsonNode value;
+    }
+}
@@ -0,0 +1,21 @@
+package com.vulpix.api.dto.publicacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EngajamentoDto {
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private Long totalLikes;
+    private Long totalPosts;
+    private BigDecimal mediaLikes;
+}
@@ -0,0 +1,9 @@
+package com.vulpix.api.dto.publicacao;
+
+import java.math.BigDecimal;
+
+public interface EngajamentoProjecao {
+    Long getTotalLikes();
+    Long getTotalPosts();
+    BigDecimal getMediaLikes();
+}
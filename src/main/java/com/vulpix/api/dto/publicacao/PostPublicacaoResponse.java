@@ -1,6 +1,7 @@
 package com.vulpix.api.dto.publicacao;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.vulpix.api.utils.enums.StatusPublicacao;
 
 import java.util.UUID;
 
@@ -14,6 +15,9 @@ public class PostPublicacaoResponse {
     @JsonProperty(value = "legenda")
     private String legenda;
 
+    @JsonProperty(value = "status")
+    private StatusPublicacao status;
+
     public UUID getId() {
         return id;
     }
@@ -37,4 +41,12 @@ public class PostPublicacaoResponse {
     public void setLegenda(String legenda) {
         this.legenda = legenda;
     }
+
+    public StatusPublicacao getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusPublicacao status) {
+        this.status = status;
+    }
 }
@@ -0,0 +1,24 @@
+package com.vulpix.api.dto.publicacao;
+
+import com.vulpix.api.utils.enums.StatusPublicacao;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PublicacaoStatusDto {
+    private UUID id;
+    private StatusPublicacao status;
+    private String idReturned;
+    private int tentativas;
+    private String erro;
+    private OffsetDateTime proximaTentativa;
+    private OffsetDateTime atualizadoEm;
+}
@@ -0,0 +1,17 @@
+package com.vulpix.api.dto.publicacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PublicacoesPorPeriodoDto {
+    private List<GetPublicacaoDto> posts;
+    private String proximoCursor;
+}
@@ -0,0 +1,12 @@
+package com.vulpix.api.dto.usuario;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class EmpresaUsuarioDto {
+    private final UUID empresaId;
+}
@@ -5,26 +5,55 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
 
 public class UsuarioDetalhesDto implements UserDetails {
 
+    private final UUID id;
     private final String nome;
     private final String email;
     private final String senha;
+    private final UUID empresaId;
+    private final Collection<? extends GrantedAuthority> authorities;
 
     public UsuarioDetalhesDto(Usuario usuario) {
+        this(usuario, null);
+    }
+
+    public UsuarioDetalhesDto(Usuario usuario, EmpresaUsuarioDto empresaUsuario) {
+        this.id = usuario.getId();
         this.nome = usuario.getNome();
         this.email = usuario.getEmail();
         this.senha = usuario.getSenha();
+        this.empresaId = empresaUsuario != null ? empresaUsuario.getEmpresaId() : null;
+        this.authorities = List.of();
+    }
+
+    public UsuarioDetalhesDto(UUID id, String email, UUID empresaId, Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.nome = null;
+        this.email = email;
+        this.senha = null;
+        this.empresaId = empresaId;
+        this.authorities = authorities;
+    }
+
+    public UUID getId() {
+        return id;
     }
 
     public String getNome() {
         return nome;
     }
 
+    public UUID getEmpresaId() {
+        return empresaId;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return null;
+        return authorities;
     }
 
     @Override
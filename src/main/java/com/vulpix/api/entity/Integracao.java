@@ -6,6 +6,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
@@ -34,6 +35,10 @@ public class Integracao {
     private LocalDateTime accessTokenExpireDate;
     @Column(name = "status")
     private Boolean status;
+    @Column(name = "ultimo_post_sincronizado")
+    private OffsetDateTime ultimoPostSincronizado;
+    @Column(name = "ultima_sincronizacao")
+    private LocalDateTime ultimaSincronizacao;
 
     @Column(name = "created_at")
     private LocalDateTime created_at;
@@ -47,6 +47,18 @@ public class Publicacao {
     private LocalDateTime created_at;
     @Column(name = "id_returned")
     private String idReturned;
+    @Column(name = "id_container")
+    private String idContainer;
+    @Column(name = "container_criado_em")
+    private OffsetDateTime containerCriadoEm;
+    @Column(name = "tentativas")
+    private Integer tentativas;
+    @Column(name = "erro_publicacao")
+    private String erroPublicacao;
+    @Column(name = "proxima_tentativa")
+    private OffsetDateTime proximaTentativa;
+    @Column(name = "atualizado_em")
+    private OffsetDateTime atualizadoEm;
 
     @ManyToOne
     @JoinColumn(name = "fk_empresa", nullable = false)
@@ -0,0 +1,76 @@
+package com.vulpix.api.entity;
+
+import com.vulpix.api.service.exportacao.FiltroExportacao;
+import com.vulpix.api.utils.enums.DatasetExportacao;
+import com.vulpix.api.utils.enums.FormatoExportacao;
+import com.vulpix.api.utils.enums.StatusExportacao;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Exportação assíncrona. O status fica no banco, então qualquer réplica responde a consulta e as tarefas
+ * interrompidas por um reinício voltam para a fila; o arquivo gerado fica em exportacao.diretorio.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TarefaExportacao {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id_tarefa_exportacao")
+    private UUID id;
+    @Column(name = "fk_empresa", nullable = false)
+    private UUID idEmpresa;
+    @Column(name = "dataset")
+    @Enumerated(EnumType.STRING)
+    private DatasetExportacao dataset;
+    @Column(name = "formato")
+    @Enumerated(EnumType.STRING)
+    private FormatoExportacao formato;
+    @Column(name = "gzip")
+    private boolean gzip;
+    @Column(name = "data_inicio")
+    private LocalDate dataInicio;
+    @Column(name = "data_fim")
+    private LocalDate dataFim;
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private StatusExportacao status;
+    @Column(name = "tentativas")
+    private Integer tentativas;
+    @Column(name = "linhas")
+    private long linhas;
+    @Column(name = "tamanho_bytes")
+    private long tamanhoBytes;
+    @Column(name = "erro")
+    private String erro;
+    @Column(name = "criada_em")
+    private LocalDateTime criadaEm;
+    @Column(name = "atualizada_em")
+    private LocalDateTime atualizadaEm;
+    @Column(name = "concluida_em")
+    private LocalDateTime concluidaEm;
+
+    public static TarefaExportacao de(FiltroExportacao filtro) {
+        return TarefaExportacao.builder()
+                .idEmpresa(filtro.idEmpresa())
+                .dataset(filtro.dataset())
+                .formato(filtro.formato())
+                .gzip(filtro.gzip())
+                .dataInicio(filtro.dataInicio())
+                .dataFim(filtro.dataFim())
+                .build();
+    }
+
+    @Transient
+    public FiltroExportacao getFiltro() {
+        return new FiltroExportacao(idEmpresa, dataset, formato, gzip, dataInicio, dataFim);
+    }
+}
@@ -35,6 +35,11 @@ public class GlobalExceptionHandler {
         return criaExcecaoResponse(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
     }
 
+    @ExceptionHandler(LimiteRequisicoesException.class)
+    public ResponseEntity<ExcecaoResponse> trataLimiteRequisicoesException(LimiteRequisicoesException ex) {
+        return criaExcecaoResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+    }
+
     @ExceptionHandler(ErroInternoException.class)
     public ResponseEntity<ExcecaoResponse> trataErroInternoException(ErroInternoException ex) {
         return criaExcecaoResponse(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
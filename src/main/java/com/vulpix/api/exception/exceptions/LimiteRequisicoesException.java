@@ -0,0 +1,7 @@
+package com.vulpix.api.exception.exceptions;
+
+public class LimiteRequisicoesException extends RuntimeException {
+    public LimiteRequisicoesException(String message) {
+        super(message);
+    }
+}
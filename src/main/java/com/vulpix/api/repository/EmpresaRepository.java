@@ -1,6 +1,7 @@
 package com.vulpix.api.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.vulpix.api.entity.Empresa;
 
 import java.util.Optional;
@@ -10,5 +11,8 @@ public interface EmpresaRepository extends JpaRepository<Empresa, UUID> {
     Optional<Empresa> findByRazaoSocialAndCnpj(String razaoSocial, String cnpj);
     Optional<Empresa> findByUsuarioId(UUID usuarioId);
     Optional<Empresa> findByUsuarioEmail(String email);
+
+    @Query("SELECT e.id FROM Empresa e WHERE e.usuario.email = :email")
+    Optional<UUID> findIdByUsuarioEmail(String email);
     Boolean existsByCnpj(String cnpj);
 }
@@ -0,0 +1,69 @@
+package com.vulpix.api.repository;
+
+import com.vulpix.api.utils.enums.DatasetExportacao;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Consultas das exportações. O JdbcTemplate usa fetch size, então dentro de uma transação o
+ * driver do Postgres lê o resultado por cursor no servidor, sem carregar tudo em memória.
+ */
+@Repository
+public class ExportacaoRepository {
+    private static final String FILTRO_PERIODO = " AND (CAST(:inicio AS timestamp) IS NULL OR %1$s >= :inicio)" +
+            " AND (CAST(:fim AS timestamp) IS NULL OR %1$s < :fim)";
+
+    private static final String SQL_PUBLICACOES = """
+            SELECT p.id_returned AS id, p.legenda, p.tipo AS tipo_midia, p.image_url AS url_midia,
+                   p.data_agendamento AS data_publicacao, p.total_like AS likes, p.status
+            FROM publicacao p
+            WHERE p.fk_empresa = :idEmpresa""" + FILTRO_PERIODO.formatted("p.data_agendamento") +
+            " ORDER BY p.data_agendamento, p.id_publicacao";
+
+    private static final String SQL_INSIGHTS = """
+            SELECT p.id_returned AS id_publicacao, i.created_at AS data_coleta, i.likes, i.comments, i.shares,
+                   i.saves, i.impressions, i.profile_visits, i.follows
+            FROM post_insights i
+            JOIN publicacao p ON p.id_publicacao = i.fk_publicacao
+            WHERE p.fk_empresa = :idEmpresa""" + FILTRO_PERIODO.formatted("i.created_at") +
+            " ORDER BY i.created_at, i.id_insight";
+
+    private static final String SQL_CRIATIVOS = """
+            SELECT c.id_criativo AS id, c.image_url AS url_imagem, c.prompt, c.created_at AS data_criacao
+            FROM criativo c
+            WHERE c.fk_empresa = :idEmpresa""" + FILTRO_PERIODO.formatted("c.created_at") +
+            " ORDER BY c.created_at, c.id_criativo";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ExportacaoRepository(DataSource dataSource, @Value("${exportacao.fetch-size}") int fetchSize) {
+        JdbcTemplate cursor = new JdbcTemplate(dataSource);
+        cursor.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(cursor);
+    }
+
+    public <T> T consultar(DatasetExportacao dataset, UUID idEmpresa, LocalDate dataInicio, LocalDate dataFim,
+                           ResultSetExtractor<T> extrator) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("idEmpresa", idEmpresa)
+                .addValue("inicio", dataInicio != null ? Timestamp.valueOf(dataInicio.atStartOfDay()) : null, Types.TIMESTAMP)
+                .addValue("fim", dataFim != null ? Timestamp.valueOf(dataFim.plusDays(1).atStartOfDay()) : null, Types.TIMESTAMP);
+
+        String sql = switch (dataset) {
+            case PUBLICACOES -> SQL_PUBLICACOES;
+            case INSIGHTS -> SQL_INSIGHTS;
+            case CRIATIVOS -> SQL_CRIATIVOS;
+        };
+        return jdbcTemplate.query(sql, parametros, extrator);
+    }
+}
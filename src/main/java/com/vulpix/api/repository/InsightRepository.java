@@ -2,9 +2,12 @@ package com.vulpix.api.repository;
 
 import com.vulpix.api.entity.PostInsights;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.UUID;
 
-public interface InsightRepository  extends JpaRepository<PostInsights, UUID> {
-
+public interface InsightRepository  extends JpaRepository<PostInsights, UUID>, InsightRepositoryCustom {
+    @Query(value = "SELECT DISTINCT p.fk_empresa FROM publicacao p WHERE EXISTS (SELECT 1 FROM post_insights pi WHERE pi.fk_publicacao = p.id_publicacao)", nativeQuery = true)
+    List<UUID> findEmpresasComInsights();
 }
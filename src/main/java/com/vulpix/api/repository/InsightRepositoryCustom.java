@@ -0,0 +1,15 @@
+package com.vulpix.api.repository;
+
+import com.vulpix.api.entity.PostInsights;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.UUID;
+
+public interface InsightRepositoryCustom {
+    void atualizarUltimosInsights(UUID idEmpresa, Collection<PostInsights> snapshots);
+
+    void atualizarResumoDiario(UUID idEmpresa, LocalDate dia);
+
+    void reconstruirResumoDiario(UUID idEmpresa);
+}
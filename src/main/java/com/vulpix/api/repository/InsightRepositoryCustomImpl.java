@@ -0,0 +1,156 @@
+package com.vulpix.api.repository;
+
+import com.vulpix.api.entity.PostInsights;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.UUID;
+
+public class InsightRepositoryCustomImpl implements InsightRepositoryCustom {
+    private static final int TAMANHO_LOTE = 500;
+
+    private static final String UPSERT_ULTIMO_INSIGHT = """
+            INSERT INTO post_insights_latest (fk_publicacao, fk_empresa, id_insight, likes, comments, shares, saves,
+                                              impressions, profile_visits, follows, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (fk_publicacao) DO UPDATE SET
+                id_insight = EXCLUDED.id_insight,
+                likes = EXCLUDED.likes,
+                comments = EXCLUDED.comments,
+                shares = EXCLUDED.shares,
+                saves = EXCLUDED.saves,
+                impressions = EXCLUDED.impressions,
+                profile_visits = EXCLUDED.profile_visits,
+                follows = EXCLUDED.follows,
+                created_at = EXCLUDED.created_at
+            WHERE post_insights_latest.created_at <= EXCLUDED.created_at
+            """;
+
+    private static final String CONFLITO_RESUMO_DIARIO = """
+            ON CONFLICT (fk_empresa, dia) DO UPDATE SET
+                likes = EXCLUDED.likes,
+                impressions = EXCLUDED.impressions,
+                shares = EXCLUDED.shares,
+                saves = EXCLUDED.saves,
+                comments = EXCLUDED.comments,
+                profile_visits = EXCLUDED.profile_visits,
+                follows = EXCLUDED.follows,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private static final String ATUALIZAR_RESUMO_DIARIO = """
+            INSERT INTO post_insights_daily (fk_empresa, dia, likes, impressions, shares, saves, comments,
+                                             profile_visits, follows)
+            SELECT
+                p.fk_empresa,
+                :dia,
+                SUM(atual.likes - COALESCE(anterior.likes, 0)),
+                SUM(atual.impressions - COALESCE(anterior.impressions, 0)),
+                SUM(atual.shares - COALESCE(anterior.shares, 0)),
+                SUM(atual.saves - COALESCE(anterior.saves, 0)),
+                SUM(atual.comments - COALESCE(anterior.comments, 0)),
+                SUM(atual.profile_visits - COALESCE(anterior.profile_visits, 0)),
+                SUM(atual.follows - COALESCE(anterior.follows, 0))
+            FROM publicacao p
+            CROSS JOIN LATERAL (
+                SELECT pi.likes, COALESCE(pi.impressions, 0) AS impressions, COALESCE(pi.shares, 0) AS shares,
+                       COALESCE(pi.saves, 0) AS saves, pi.comments, COALESCE(pi.profile_visits, 0) AS profile_visits,
+                       COALESCE(pi.follows, 0) AS follows
+                FROM post_insights pi
+                WHERE pi.fk_publicacao = p.id_publicacao
+                    AND pi.created_at >= :dia
+                    AND pi.created_at < CAST(:dia AS date) + 1
+                ORDER BY pi.created_at DESC
+                LIMIT 1
+            ) atual
+            LEFT JOIN LATERAL (
+                SELECT pi.likes, COALESCE(pi.impressions, 0) AS impressions, COALESCE(pi.shares, 0) AS shares,
+                       COALESCE(pi.saves, 0) AS saves, pi.comments, COALESCE(pi.profile_visits, 0) AS profile_visits,
+                       COALESCE(pi.follows, 0) AS follows
+                FROM post_insights pi
+                WHERE pi.fk_publicacao = p.id_publicacao
+                    AND pi.created_at < :dia
+                ORDER BY pi.created_at DESC
+                LIMIT 1
+            ) anterior ON true
+            WHERE p.fk_empresa = :empresa
+            GROUP BY p.fk_empresa
+            """ + CONFLITO_RESUMO_DIARIO;
+
+    private static final String RECONSTRUIR_RESUMO_DIARIO = """
+            INSERT INTO post_insights_daily (fk_empresa, dia, likes, impressions, shares, saves, comments,
+                                             profile_visits, follows)
+            SELECT :empresa, dia, SUM(likes), SUM(impressions), SUM(shares), SUM(saves), SUM(comments),
+                   SUM(profile_visits), SUM(follows)
+            FROM (
+                SELECT
+                    dia,
+                    likes - COALESCE(LAG(likes) OVER post, 0) AS likes,
+                    impressions - COALESCE(LAG(impressions) OVER post, 0) AS impressions,
+                    shares - COALESCE(LAG(shares) OVER post, 0) AS shares,
+                    saves - COALESCE(LAG(saves) OVER post, 0) AS saves,
+                    comments - COALESCE(LAG(comments) OVER post, 0) AS comments,
+                    profile_visits - COALESCE(LAG(profile_visits) OVER post, 0) AS profile_visits,
+                    follows - COALESCE(LAG(follows) OVER post, 0) AS follows
+                FROM (
+                    SELECT DISTINCT ON (pi.fk_publicacao, CAST(pi.created_at AS date))
+                        pi.fk_publicacao,
+                        CAST(pi.created_at AS date) AS dia,
+                        pi.likes,
+                        COALESCE(pi.impressions, 0) AS impressions,
+                        COALESCE(pi.shares, 0) AS shares,
+                        COALESCE(pi.saves, 0) AS saves,
+                        pi.comments,
+                        COALESCE(pi.profile_visits, 0) AS profile_visits,
+                        COALESCE(pi.follows, 0) AS follows
+                    FROM publicacao p
+                    JOIN post_insights pi ON pi.fk_publicacao = p.id_publicacao
+                    WHERE p.fk_empresa = :empresa
+                    ORDER BY pi.fk_publicacao, CAST(pi.created_at AS date), pi.created_at DESC
+                ) ultimo_do_dia
+                WINDOW post AS (PARTITION BY fk_publicacao ORDER BY dia)
+            ) deltas
+            GROUP BY dia
+            """ + CONFLITO_RESUMO_DIARIO;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public InsightRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public void atualizarUltimosInsights(UUID idEmpresa, Collection<PostInsights> snapshots) {
+        jdbcTemplate.batchUpdate(UPSERT_ULTIMO_INSIGHT, new ArrayList<>(snapshots), TAMANHO_LOTE, (ps, snapshot) -> {
+            ps.setObject(1, snapshot.getPublicacao().getId());
+            ps.setObject(2, idEmpresa);
+            ps.setObject(3, snapshot.getId());
+            ps.setInt(4, snapshot.getLikes());
+            ps.setInt(5, snapshot.getComments());
+            ps.setInt(6, snapshot.getShares());
+            ps.setInt(7, snapshot.getSaves());
+            ps.setInt(8, snapshot.getImpressions());
+            ps.setInt(9, snapshot.getProfileVisits());
+            ps.setInt(10, snapshot.getFollows());
+            ps.setObject(11, snapshot.getCreatedAt());
+        });
+    }
+
+    @Override
+    public void atualizarResumoDiario(UUID idEmpresa, LocalDate dia) {
+        namedJdbcTemplate.update(ATUALIZAR_RESUMO_DIARIO, new MapSqlParameterSource()
+                .addValue("empresa", idEmpresa)
+                .addValue("dia", dia));
+    }
+
+    @Override
+    public void reconstruirResumoDiario(UUID idEmpresa) {
+        namedJdbcTemplate.update(RECONSTRUIR_RESUMO_DIARIO, new MapSqlParameterSource("empresa", idEmpresa));
+    }
+}
@@ -4,8 +4,11 @@ import com.vulpix.api.utils.enums.TipoIntegracao;
 import com.vulpix.api.entity.Empresa;
 import com.vulpix.api.entity.Integracao;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,4 +21,15 @@ public interface IntegracaoRepository extends JpaRepository<Integracao, UUID> {
     @Query("SELECT i FROM Integracao i WHERE i.empresa.id = :idEmpresa and i.tipo = 'INSTAGRAM'")
     Optional<Integracao> findIntegracaoByEmpresaId(UUID idEmpresa);
     List<Integracao> findByStatusAndTipo(Boolean status, TipoIntegracao tipo);
+
+    // A marca só avança: uma sincronização que começou antes de outra não a faz voltar
+    @Modifying
+    @Query("UPDATE Integracao i SET i.ultimaSincronizacao = :agora, i.ultimoPostSincronizado = CASE " +
+            "WHEN i.ultimoPostSincronizado IS NULL OR i.ultimoPostSincronizado < :ultimoPost THEN :ultimoPost " +
+            "ELSE i.ultimoPostSincronizado END WHERE i.id = :idIntegracao")
+    int atualizarSincronizacao(UUID idIntegracao, OffsetDateTime ultimoPost, LocalDateTime agora);
+
+    @Query("SELECT i FROM Integracao i WHERE i.status = true AND i.tipo = :tipo " +
+            "AND (i.ultimaSincronizacao IS NULL OR i.ultimaSincronizacao < :limite)")
+    List<Integracao> findIntegracoesParaSincronizar(TipoIntegracao tipo, LocalDateTime limite);
 }
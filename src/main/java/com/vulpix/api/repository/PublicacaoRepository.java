@@ -1,25 +1,88 @@
 package com.vulpix.api.repository;
 
+import com.vulpix.api.dto.publicacao.EngajamentoProjecao;
 import com.vulpix.api.entity.Publicacao;
-import com.vulpix.api.utils.enums.StatusPublicacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
 @Repository
-public interface PublicacaoRepository extends JpaRepository<Publicacao, UUID> {
-    Optional<Publicacao> findByIdReturned(String idReturned);
+public interface PublicacaoRepository extends JpaRepository<Publicacao, UUID>, PublicacaoRepositoryCustom {
+    Optional<Publicacao> findByIdReturnedAndEmpresaId(String idReturned, UUID idEmpresa);
+
+    @Query("SELECT p.idReturned FROM Publicacao p WHERE p.empresa.id = :idEmpresa AND p.dataPublicacao = :data AND p.idReturned IS NOT NULL")
+    List<String> findIdsReturnedByEmpresaIdAndDataPublicacao(UUID idEmpresa, OffsetDateTime data);
     void deleteByEmpresaId(UUID empresaId);
 
-    List<Publicacao> findByStatus(StatusPublicacao status);
+    @Query("SELECT DISTINCT p FROM Publicacao p JOIN FETCH p.empresa e LEFT JOIN FETCH e.integracoes WHERE p.id IN :ids")
+    List<Publicacao> findComIntegracoesByIdIn(Collection<UUID> ids);
 
     Page<Publicacao> findByEmpresaId(UUID idEmpresa, Pageable pageable);
     List<Publicacao> findByEmpresaId(UUID idEmpresa);
+    boolean existsByEmpresaId(UUID idEmpresa);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Publicacao p WHERE p.empresa.id = :idEmpresa ORDER BY p.dataPublicacao DESC")
+    Stream<Publicacao> streamByEmpresaId(UUID idEmpresa);
+
+    @Query("SELECT p FROM Publicacao p WHERE p.empresa.id = :idEmpresa AND p.idReturned IS NOT NULL AND p.dataPublicacao >= :dataLimite")
+    List<Publicacao> findParaAtualizarInsights(UUID idEmpresa, OffsetDateTime dataLimite);
+
+    @Query(value = """
+            SELECT p.* FROM publicacao p
+            WHERE p.fk_empresa = :idEmpresa
+              AND p.data_agendamento >= :inicio AND p.data_agendamento < :fim
+            ORDER BY p.data_agendamento, p.id_publicacao
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Publicacao> findPorPeriodo(UUID idEmpresa, OffsetDateTime inicio, OffsetDateTime fim, int limite);
+
+    // Paginação por keyset: continua a partir da última (data, id) retornada, buscando direto no índice
+    @Query(value = """
+            SELECT p.* FROM publicacao p
+            WHERE p.fk_empresa = :idEmpresa
+              AND p.data_agendamento >= :inicio AND p.data_agendamento < :fim
+              AND (p.data_agendamento, p.id_publicacao) > (:dataCursor, :idCursor)
+            ORDER BY p.data_agendamento, p.id_publicacao
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Publicacao> findPorPeriodoAposCursor(UUID idEmpresa, OffsetDateTime inicio, OffsetDateTime fim,
+                                              OffsetDateTime dataCursor, UUID idCursor, int limite);
 
     Page<Publicacao> findByEmpresaIdAndDataPublicacaoBetween(UUID idEmpresa, OffsetDateTime dataFiltroInicio, OffsetDateTime dataFiltroFim, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query(value = """
+            SELECT
+                CAST(COALESCE(SUM(p.total_like), 0) AS BIGINT) AS "totalLikes",
+                COUNT(*) AS "totalPosts",
+                ROUND(COALESCE(AVG(COALESCE(p.total_like, 0)), 0), 2) AS "mediaLikes"
+            FROM
+                publicacao p
+            WHERE
+                p.fk_empresa = :empresa_id
+                AND (CAST(:data_inicio AS date) IS NULL OR p.data_agendamento >= CAST(:data_inicio AS date))
+                AND (CAST(:data_fim AS date) IS NULL OR p.data_agendamento < CAST(:data_fim AS date) + 1)
+            """, nativeQuery = true)
+    EngajamentoProjecao findEngajamentoByEmpresaAndPeriodo(
+            @Param("empresa_id") UUID empresaId,
+            @Param("data_inicio") LocalDate dataInicio,
+            @Param("data_fim") LocalDate dataFim
+    );
+}
@@ -0,0 +1,24 @@
+package com.vulpix.api.repository;
+
+import com.vulpix.api.entity.Publicacao;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface PublicacaoRepositoryCustom {
+    void upsertPorIdReturned(UUID idEmpresa, Collection<Publicacao> publicacoes);
+
+    int excluirAusentes(UUID idEmpresa, Collection<String> idsReturnedAtuais);
+
+    boolean reservarParaPublicacao(UUID idPublicacao, OffsetDateTime agora);
+
+    List<UUID> buscarPendentesDePublicacao(OffsetDateTime agora, int limite);
+
+    int liberarPublicacoesTravadas(OffsetDateTime limite, OffsetDateTime agora, int tentativasMaximas);
+
+    List<UUID> reservarAgendadas(OffsetDateTime agora, int limite);
+
+    void devolverParaFila(UUID idPublicacao, OffsetDateTime agora);
+}
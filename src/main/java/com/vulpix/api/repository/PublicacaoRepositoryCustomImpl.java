@@ -0,0 +1,144 @@
+package com.vulpix.api.repository;
+
+import com.vulpix.api.entity.Publicacao;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class PublicacaoRepositoryCustomImpl implements PublicacaoRepositoryCustom {
+    private static final int TAMANHO_LOTE = 500;
+
+    // O id do post é único por empresa: a mesma conta do Instagram ligada a duas empresas gera uma cópia para cada
+    // uma, e a sincronização de um tenant nunca alcança (nem descarta em silêncio) as linhas do outro
+    private static final String UPSERT = """
+            INSERT INTO publicacao (legenda, tipo, image_url, data_agendamento, total_like, id_returned, fk_empresa)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (fk_empresa, id_returned) DO UPDATE SET
+                legenda = EXCLUDED.legenda,
+                tipo = EXCLUDED.tipo,
+                image_url = EXCLUDED.image_url,
+                data_agendamento = EXCLUDED.data_agendamento,
+                total_like = EXCLUDED.total_like
+            """;
+
+    private static final String EXCLUIR_AUSENTES = """
+            DELETE FROM publicacao p
+            WHERE p.fk_empresa = ?
+              AND p.id_returned IS NOT NULL
+              AND NOT EXISTS (
+                  SELECT 1 FROM unnest(?) AS atual(id_returned)
+                  WHERE atual.id_returned = p.id_returned
+              )
+            """;
+
+    // A troca de status só acontece se a linha ainda estiver pendente, então cada publicação é processada por um único worker
+    private static final String RESERVAR = """
+            UPDATE publicacao
+            SET status = 'PUBLICANDO', tentativas = COALESCE(tentativas, 0) + 1, atualizado_em = ?
+            WHERE id_publicacao = ? AND status = 'PENDENTE'
+            """;
+
+    private static final String PENDENTES = """
+            SELECT id_publicacao FROM publicacao
+            WHERE status = 'PENDENTE' AND proxima_tentativa <= ?
+            ORDER BY proxima_tentativa
+            LIMIT ?
+            """;
+
+    // A tentativa que travou já foi contada na reserva; se era a última, a linha vai para FALHA em vez de voltar
+    // para a fila, para que uma publicação que derruba ou prende o worker não seja reenviada para sempre
+    private static final String LIBERAR_TRAVADAS = """
+            UPDATE publicacao
+            SET status = CASE WHEN COALESCE(tentativas, 0) >= ? THEN 'FALHA' ELSE 'PENDENTE' END,
+                proxima_tentativa = CASE WHEN COALESCE(tentativas, 0) >= ? THEN NULL ELSE ? END,
+                erro_publicacao = 'Publicação interrompida sem resposta do worker.',
+                atualizado_em = ?
+            WHERE status = 'PUBLICANDO' AND atualizado_em < ?
+            """;
+
+    // Reserva as agendadas vencidas em um único comando: SKIP LOCKED faz cada nó levar um lote diferente,
+    // e a linha já sai como PUBLICANDO, então a transação termina antes de qualquer chamada à Graph
+    private static final String RESERVAR_AGENDADAS = """
+            UPDATE publicacao p
+            SET status = 'PUBLICANDO', tentativas = COALESCE(p.tentativas, 0) + 1, atualizado_em = ?
+            WHERE p.id_publicacao IN (
+                SELECT id_publicacao FROM publicacao
+                WHERE status = 'AGENDADA' AND data_agendamento <= ?
+                ORDER BY data_agendamento
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING p.id_publicacao
+            """;
+
+    private static final String DEVOLVER_PARA_FILA = """
+            UPDATE publicacao
+            SET status = 'PENDENTE', tentativas = GREATEST(COALESCE(tentativas, 1) - 1, 0), proxima_tentativa = ?, atualizado_em = ?
+            WHERE id_publicacao = ? AND status = 'PUBLICANDO'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PublicacaoRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsertPorIdReturned(UUID idEmpresa, Collection<Publicacao> publicacoes) {
+        // O mesmo post pode vir repetido entre páginas e o ON CONFLICT não aceita afetar a mesma linha duas vezes.
+        Map<String, Publicacao> porIdReturned = new LinkedHashMap<>();
+        publicacoes.forEach(publicacao -> porIdReturned.put(publicacao.getIdReturned(), publicacao));
+
+        jdbcTemplate.batchUpdate(UPSERT, new ArrayList<>(porIdReturned.values()), TAMANHO_LOTE, (ps, publicacao) -> {
+            ps.setString(1, publicacao.getLegenda());
+            ps.setString(2, publicacao.getTipoMidia());
+            ps.setString(3, publicacao.getUrlMidia());
+            ps.setObject(4, publicacao.getDataPublicacao());
+            ps.setObject(5, publicacao.getLikeCount());
+            ps.setString(6, publicacao.getIdReturned());
+            ps.setObject(7, idEmpresa);
+        });
+    }
+
+    @Override
+    public int excluirAusentes(UUID idEmpresa, Collection<String> idsReturnedAtuais) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXCLUIR_AUSENTES);
+            ps.setObject(1, idEmpresa);
+            ps.setArray(2, connection.createArrayOf("text", idsReturnedAtuais.toArray()));
+            return ps;
+        });
+    }
+
+    @Override
+    public boolean reservarParaPublicacao(UUID idPublicacao, OffsetDateTime agora) {
+        return jdbcTemplate.update(RESERVAR, agora, idPublicacao) == 1;
+    }
+
+    @Override
+    public List<UUID> buscarPendentesDePublicacao(OffsetDateTime agora, int limite) {
+        return jdbcTemplate.queryForList(PENDENTES, UUID.class, agora, limite);
+    }
+
+    @Override
+    public int liberarPublicacoesTravadas(OffsetDateTime limite, OffsetDateTime agora, int tentativasMaximas) {
+        return jdbcTemplate.update(LIBERAR_TRAVADAS, tentativasMaximas, tentativasMaximas, agora, agora, limite);
+    }
+
+    @Override
+    public List<UUID> reservarAgendadas(OffsetDateTime agora, int limite) {
+        return jdbcTemplate.queryForList(RESERVAR_AGENDADAS, UUID.class, agora, agora, limite);
+    }
+
+    @Override
+    public void devolverParaFila(UUID idPublicacao, OffsetDateTime agora) {
+        jdbcTemplate.update(DEVOLVER_PARA_FILA, agora, agora, idPublicacao);
+    }
+}
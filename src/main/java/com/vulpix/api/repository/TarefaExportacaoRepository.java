@@ -0,0 +1,17 @@
+package com.vulpix.api.repository;
+
+import com.vulpix.api.entity.TarefaExportacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface TarefaExportacaoRepository extends JpaRepository<TarefaExportacao, UUID>, TarefaExportacaoRepositoryCustom {
+    Optional<TarefaExportacao> findByIdAndIdEmpresa(UUID id, UUID idEmpresa);
+
+    List<TarefaExportacao> findByConcluidaEmBefore(LocalDateTime limite);
+}
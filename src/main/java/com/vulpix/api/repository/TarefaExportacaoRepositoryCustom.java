@@ -0,0 +1,23 @@
+package com.vulpix.api.repository;
+
+import com.vulpix.api.utils.enums.StatusExportacao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TarefaExportacaoRepositoryCustom {
+    Optional<Integer> reservar(UUID idTarefa, LocalDateTime agora);
+
+    void registrarProgresso(UUID idTarefa, int tentativa, long linhas, LocalDateTime agora);
+
+    boolean concluir(UUID idTarefa, int tentativa, StatusExportacao status, long linhas, long tamanhoBytes,
+                     String erro, LocalDateTime agora);
+
+    List<UUID> buscarPendentes(int limite);
+
+    int liberarTravadas(LocalDateTime limite, LocalDateTime agora, int tentativasMaximas);
+
+    boolean descartarPendente(UUID idTarefa);
+}
@@ -0,0 +1,93 @@
+package com.vulpix.api.repository;
+
+import com.vulpix.api.utils.enums.StatusExportacao;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public class TarefaExportacaoRepositoryCustomImpl implements TarefaExportacaoRepositoryCustom {
+    // Como na fila de publicação, só quem troca PENDENTE por EM_ANDAMENTO gera o arquivo, mesmo com várias réplicas;
+    // o número da tentativa devolvido identifica esta execução nos comandos seguintes
+    private static final String RESERVAR = """
+            UPDATE tarefa_exportacao
+            SET status = 'EM_ANDAMENTO', tentativas = COALESCE(tentativas, 0) + 1, linhas = 0, atualizada_em = ?
+            WHERE id_tarefa_exportacao = ? AND status = 'PENDENTE'
+            RETURNING tentativas
+            """;
+
+    // Também serve de sinal de vida: uma tarefa em andamento sem progresso recente é considerada travada
+    private static final String REGISTRAR_PROGRESSO = """
+            UPDATE tarefa_exportacao
+            SET linhas = ?, atualizada_em = ?
+            WHERE id_tarefa_exportacao = ? AND status = 'EM_ANDAMENTO' AND tentativas = ?
+            """;
+
+    // Uma tentativa liberada como travada e retomada por outro worker não sobrescreve o resultado da nova
+    private static final String CONCLUIR = """
+            UPDATE tarefa_exportacao
+            SET status = ?, linhas = ?, tamanho_bytes = ?, erro = ?, concluida_em = ?, atualizada_em = ?
+            WHERE id_tarefa_exportacao = ? AND status = 'EM_ANDAMENTO' AND tentativas = ?
+            """;
+
+    private static final String PENDENTES = """
+            SELECT id_tarefa_exportacao FROM tarefa_exportacao
+            WHERE status = 'PENDENTE'
+            ORDER BY criada_em
+            LIMIT ?
+            """;
+
+    // No limite de tentativas a tarefa vai para FALHA (e expira como as demais) em vez de voltar para a fila
+    private static final String LIBERAR_TRAVADAS = """
+            UPDATE tarefa_exportacao
+            SET status = CASE WHEN COALESCE(tentativas, 0) >= ? THEN 'FALHA' ELSE 'PENDENTE' END,
+                concluida_em = CASE WHEN COALESCE(tentativas, 0) >= ? THEN CAST(? AS timestamp) ELSE NULL END,
+                erro = 'Exportação interrompida sem resposta do worker.',
+                atualizada_em = ?
+            WHERE status = 'EM_ANDAMENTO' AND atualizada_em < ?
+            """;
+
+    private static final String DESCARTAR_PENDENTE = """
+            DELETE FROM tarefa_exportacao
+            WHERE id_tarefa_exportacao = ? AND status = 'PENDENTE'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TarefaExportacaoRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<Integer> reservar(UUID idTarefa, LocalDateTime agora) {
+        return jdbcTemplate.queryForList(RESERVAR, Integer.class, agora, idTarefa).stream().findFirst();
+    }
+
+    @Override
+    public void registrarProgresso(UUID idTarefa, int tentativa, long linhas, LocalDateTime agora) {
+        jdbcTemplate.update(REGISTRAR_PROGRESSO, linhas, agora, idTarefa, tentativa);
+    }
+
+    @Override
+    public boolean concluir(UUID idTarefa, int tentativa, StatusExportacao status, long linhas, long tamanhoBytes,
+                            String erro, LocalDateTime agora) {
+        return jdbcTemplate.update(CONCLUIR, status.name(), linhas, tamanhoBytes, erro, agora, agora, idTarefa, tentativa) == 1;
+    }
+
+    @Override
+    public List<UUID> buscarPendentes(int limite) {
+        return jdbcTemplate.queryForList(PENDENTES, UUID.class, limite);
+    }
+
+    @Override
+    public int liberarTravadas(LocalDateTime limite, LocalDateTime agora, int tentativasMaximas) {
+        return jdbcTemplate.update(LIBERAR_TRAVADAS, tentativasMaximas, tentativasMaximas, agora, agora, limite);
+    }
+
+    @Override
+    public boolean descartarPendente(UUID idTarefa) {
+        return jdbcTemplate.update(DESCARTAR_PENDENTE, idTarefa) == 1;
+    }
+}
@@ -0,0 +1,31 @@
+package com.vulpix.api.service;
+
+import com.vulpix.api.config.CacheConfig;
+import com.vulpix.api.service.integracoes.graph.InsightsAtualizadosEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DashboardCacheInvalidador {
+    @Autowired
+    private CacheManager cacheManager;
+
+    @EventListener
+    public void invalidar(InsightsAtualizadosEvent evento) {
+        String prefixo = evento.idEmpresa() + ":";
+
+        for (String nome : CacheConfig.CACHES_DASHBOARD) {
+            Cache cache = cacheManager.getCache(nome);
+            if (cache == null) continue;
+
+            if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                caffeine.asMap().keySet().removeIf(chave -> chave.toString().startsWith(prefixo));
+            } else {
+                cache.clear();
+            }
+        }
+    }
+}
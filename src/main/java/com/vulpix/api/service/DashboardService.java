@@ -1,57 +1,67 @@
 package com.vulpix.api.service;
 
+import com.vulpix.api.config.CacheConfig;
 import com.vulpix.api.dto.dashboard.DashKpiDto;
+import com.vulpix.api.dto.dashboard.DashKpiProjecao;
 import com.vulpix.api.dto.dashboard.PostInsightsDto;
+import com.vulpix.api.dto.dashboard.UltimaMetricaPostDto;
 import com.vulpix.api.entity.Empresa;
 import com.vulpix.api.entity.PostInsights;
 import com.vulpix.api.repository.DashboardRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.sql.Timestamp;
+import java.sql.Date;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 public class DashboardService {
     @Autowired
     DashboardRepository dashboardRepository;
 
-    public List<PostInsights> buscaMetricaUltimoPost(Empresa empresa) {
-        return dashboardRepository.findLatestInsightsForEachPostByEmpresa(empresa.getId());
+    @Cacheable(cacheNames = CacheConfig.DASHBOARD_ULTIMA_METRICA_POST, key = "#empresa.id + ':'")
+    public List<UltimaMetricaPostDto> buscaMetricaUltimoPost(Empresa empresa) {
+        return dashboardRepository.findLatestInsightsForEachPostByEmpresa(empresa.getId()).stream()
+                .map(this::toUltimaMetricaPostDto)
+                .toList();
     }
 
-    public List<PostInsightsDto> buscaMetricasPorDia(Empresa empresaId, LocalDate startDate, LocalDate endDate) {
-        List<Object[]> results = dashboardRepository.findLatestPostInsightsByEmpresaAndDate(empresaId.getId(), startDate, endDate);
+    private UltimaMetricaPostDto toUltimaMetricaPostDto(PostInsights insight) {
+        return UltimaMetricaPostDto.builder()
+                .id(insight.getId())
+                .fkPublicacao(insight.getFkPublicacao())
+                .likes(insight.getLikes())
+                .comments(insight.getComments())
+                .shares(insight.getShares())
+                .saves(insight.getSaves())
+                .impressions(insight.getImpressions())
+                .profileVisits(insight.getProfileVisits())
+                .follows(insight.getFollows())
+                .createdAt(insight.getCreatedAt())
+                .build();
+    }
+
+    @Cacheable(cacheNames = CacheConfig.DASHBOARD_METRICAS_POR_DIA, key = "#empresa.id + ':' + #startDate + ':' + #endDate")
+    public List<PostInsightsDto> buscaMetricasPorDia(Empresa empresa, LocalDate startDate, LocalDate endDate) {
+        List<Object[]> results = dashboardRepository.findResumoDiarioByEmpresaAndPeriodo(empresa.getId(), startDate, endDate);
 
         String[] diasDaSemana = {"Seg", "Ter", "Quar", "Qui", "Sex", "Sab", "Dom"};
 
         List<PostInsightsDto> insightsDTOs = new ArrayList<>();
         for (Object[] result : results) {
-            int weekDay = ((BigDecimal) result[1]).intValue();
-
-            if (weekDay < 1 || weekDay > 7) {
-                System.err.println("Valor inesperado de weekDay: " + weekDay);
-                continue;
-            }
-
-            if (weekDay == 7) {
-                weekDay = 0;
-            } else {
-                weekDay -= 1;
-            }
+            LocalDate dia = result[0] instanceof Date data ? data.toLocalDate() : (LocalDate) result[0];
 
             PostInsightsDto dto = PostInsightsDto.builder()
-                    .day(((Timestamp) result[0]).toLocalDateTime().toLocalDate())
-                    .name(diasDaSemana[weekDay])
-                    .Likes(convertToLong(result[2]))
-                    .Views(convertToLong(result[3]))
-                    .Shares(convertToLong(result[4]))
-                    .Saves(convertToLong(result[5]))
-                    .Comments(convertToLong(result[6]))
+                    .day(dia)
+                    .name(diasDaSemana[dia.getDayOfWeek().getValue() - 1])
+                    .Likes(convertToLong(result[1]))
+                    .Views(convertToLong(result[2]))
+                    .Shares(convertToLong(result[3]))
+                    .Saves(convertToLong(result[4]))
+                    .Comments(convertToLong(result[5]))
                     .build();
             insightsDTOs.add(dto);
         }
@@ -60,33 +70,21 @@ public class DashboardService {
     }
 
     private Long convertToLong(Object value) {
-        if (value instanceof Integer) {
-            return ((Integer) value).longValue();
-        } else if (value instanceof BigDecimal) {
-            return ((BigDecimal) value).longValue();
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
         }
         return 0L;
     }
 
-    public DashKpiDto buscaKpisPorPeriodo(Empresa empresa) {
-        UUID empresaId = empresa.getId();
-
-        List<Object[]> results = dashboardRepository.findTaxas(empresaId);
-
-        BigDecimal taxaSalvo = null;
-        BigDecimal taxaShares = null;
-
-        if (!results.isEmpty()) {
-            Object[] row = results.get(0);
-            taxaShares = (BigDecimal) row[1];
-            taxaSalvo = (BigDecimal) row[2];
-        }
+    @Cacheable(cacheNames = CacheConfig.DASHBOARD_KPIS, key = "#empresa.id + ':' + #dataInicio + ':' + #dataFim")
+    public DashKpiDto buscaKpisPorPeriodo(Empresa empresa, LocalDate dataInicio, LocalDate dataFim) {
+        DashKpiProjecao kpis = dashboardRepository.findKpisByEmpresaAndPeriodo(empresa.getId(), dataInicio, dataFim);
 
         return DashKpiDto.builder()
-                .taxaSaves(taxaSalvo)
-                .taxaCompartilhamento(taxaShares)
-                .visualizacoesTotais(dashboardRepository.findImpressoesTotais(empresaId))
-                .alcanceUltimoPost(dashboardRepository.findAlcanceTotalUltimoPost(empresaId))
+                .taxaSaves(kpis.getTaxaSaves())
+                .taxaCompartilhamento(kpis.getTaxaCompartilhamento())
+                .visualizacoesTotais(kpis.getVisualizacoesTotais())
+                .alcanceUltimoPost(kpis.getAlcanceUltimoPost())
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -12,6 +12,7 @@ import com.vulpix.api.repository.EmpresaRepository;
 import com.vulpix.api.service.integracoes.agentai.CriativosService;
 import com.vulpix.api.service.integracoes.agentai.PromptService;
 import com.vulpix.api.service.usuario.UsuarioService;
+import com.vulpix.api.service.usuario.autenticacao.EmpresaUsuarioService;
 import com.vulpix.api.service.usuario.autenticacao.UsuarioAutenticadoUtil;
 import com.vulpix.api.utils.JsonConverter;
 import com.vulpix.api.utils.enums.StatusUsuario;
@@ -34,6 +35,9 @@ public class EmpresaService {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private EmpresaUsuarioService empresaUsuarioService;
+
     @Autowired
     private ConfigRepository configRepository;
 
@@ -65,7 +69,9 @@ public class EmpresaService {
         if (empresaExistePorRazaoSocialECnpj(novaEmpresa.getRazaoSocial(), novaEmpresa.getCnpj())) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "O CNPJ informado já está cadastrado no sistema.");
         }
-        return empresaRepository.save(novaEmpresa);
+        Empresa empresaSalva = empresaRepository.save(novaEmpresa);
+        empresaUsuarioService.invalidar(empresaSalva.getUsuario().getEmail());
+        return empresaSalva;
     }
 
     public EmpresaEditDto atualizarEmpresa(Empresa empresa, EmpresaEditDto empresaAtualizada) {
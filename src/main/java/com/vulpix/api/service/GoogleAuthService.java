@@ -7,12 +7,14 @@ import com.google.zxing.common.BitMatrix;
 import com.vulpix.api.config.security.jwt.GerenciadorTokenJwt;
 import com.vulpix.api.dto.autenticacao.UsuarioTokenDto;
 import com.vulpix.api.dto.googleauth.GoogleAuthQRCodeResponse;
+import com.vulpix.api.dto.usuario.UsuarioDetalhesDto;
 import com.vulpix.api.dto.usuario.UsuarioMapper;
 import com.vulpix.api.entity.Usuario;
 import com.vulpix.api.exception.exceptions.ConflitoException;
 import com.vulpix.api.exception.exceptions.ErroInternoException;
 import com.vulpix.api.exception.exceptions.NaoAutorizadoException;
 import com.vulpix.api.exception.exceptions.RequisicaoInvalidaException;
+import com.vulpix.api.service.usuario.autenticacao.EmpresaUsuarioService;
 import com.vulpix.api.service.usuario.autenticacao.UsuarioAutenticadoUtil;
 import com.vulpix.api.utils.helpers.UsuarioHelper;
 import com.warrenstrange.googleauth.GoogleAuthenticator;
@@ -40,6 +42,9 @@ public class GoogleAuthService {
     @Autowired
     private GerenciadorTokenJwt gerenciadorTokenJwt;
 
+    @Autowired
+    private EmpresaUsuarioService empresaUsuarioService;
+
     private final GoogleAuthenticator googleAuthenticator = new GoogleAuthenticator();
 
     public Integer converterOtpParaInteger(String otp) {
@@ -75,7 +80,8 @@ public class GoogleAuthService {
             usuarioHelper.marcarDispositivoComoConfiavel(usuario, dispositivoCode);
         }
 
-        Authentication auth = new UsernamePasswordAuthenticationToken(usuario.getEmail(), usuario.getSenha());
+        UsuarioDetalhesDto usuarioDetalhes = new UsuarioDetalhesDto(usuario, empresaUsuarioService.buscarEmpresaDoUsuario(usuario.getEmail()));
+        Authentication auth = new UsernamePasswordAuthenticationToken(usuarioDetalhes, usuario.getSenha());
         String token = gerenciadorTokenJwt.generateToken(auth);
 
         return UsuarioMapper.retornaUsuario(usuario, token, usuario.getSecretKey());
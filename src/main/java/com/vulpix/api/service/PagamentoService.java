@@ -10,6 +10,7 @@ import com.vulpix.api.entity.Empresa;
 import com.vulpix.api.exception.exceptions.ErroInternoException;
 import com.vulpix.api.service.usuario.UsuarioService;
 import com.vulpix.api.utils.enums.StatusUsuario;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -28,9 +29,25 @@ public class PagamentoService {
     @Value("${stripe.chave-secreta}")
     private String stripeApiKey;
 
-    public String criarPaymentLink(Empresa empresa) {
+    @Value("${http.stripe.timeout-conexao-ms}")
+    private int timeoutConexaoMs;
+
+    @Value("${http.stripe.timeout-leitura-ms}")
+    private int timeoutLeituraMs;
+
+    @Value("${http.stripe.tentativas}")
+    private int tentativas;
+
+    @PostConstruct
+    public void configurarStripe() {
         Stripe.apiKey = stripeApiKey;
+        Stripe.setConnectTimeout(timeoutConexaoMs);
+        Stripe.setReadTimeout(timeoutLeituraMs);
+        // O SDK envia Idempotency-Key nas tentativas, entao repetir a criacao do link e seguro
+        Stripe.setMaxNetworkRetries(tentativas);
+    }
 
+    public String criarPaymentLink(Empresa empresa) {
         PaymentLinkCreateParams params = PaymentLinkCreateParams.builder()
                 .addLineItem(
                         PaymentLinkCreateParams.LineItem.builder()
@@ -0,0 +1,40 @@
+package com.vulpix.api.service.exportacao;
+
+import com.vulpix.api.utils.PublicacaoCsv;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+class EscritorCsv implements EscritorExportacao {
+    private final Writer writer;
+
+    EscritorCsv(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void iniciar(List<String> colunas) throws IOException {
+        escrever(colunas.toArray());
+    }
+
+    @Override
+    public void escreverLinha(Object[] valores) throws IOException {
+        escrever(valores);
+    }
+
+    @Override
+    public void finalizar() throws IOException {
+        writer.flush();
+    }
+
+    private void escrever(Object[] valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) writer.write(',');
+            if (valores[i] != null) {
+                PublicacaoCsv.escreverCampo(writer, valores[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+}
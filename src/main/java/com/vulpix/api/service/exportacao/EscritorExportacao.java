@@ -0,0 +1,22 @@
+package com.vulpix.api.service.exportacao;
+
+import com.vulpix.api.utils.enums.FormatoExportacao;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+interface EscritorExportacao {
+    void iniciar(List<String> colunas) throws IOException;
+
+    void escreverLinha(Object[] valores) throws IOException;
+
+    void finalizar() throws IOException;
+
+    static EscritorExportacao para(FormatoExportacao formato, Writer writer) throws IOException {
+        return switch (formato) {
+            case CSV -> new EscritorCsv(writer);
+            case NDJSON -> new EscritorNdjson(writer);
+        };
+    }
+}
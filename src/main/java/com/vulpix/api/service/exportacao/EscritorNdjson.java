@@ -0,0 +1,53 @@
+package com.vulpix.api.service.exportacao;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+class EscritorNdjson implements EscritorExportacao {
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private final JsonGenerator gerador;
+    private String[] colunas;
+
+    EscritorNdjson(Writer writer) throws IOException {
+        this.gerador = jsonFactory.createGenerator(writer);
+        this.gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.gerador.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void iniciar(List<String> colunas) {
+        this.colunas = colunas.toArray(String[]::new);
+    }
+
+    @Override
+    public void escreverLinha(Object[] valores) throws IOException {
+        gerador.writeStartObject();
+        for (int i = 0; i < colunas.length; i++) {
+            gerador.writeFieldName(colunas[i]);
+            Object valor = valores[i];
+            if (valor == null) {
+                gerador.writeNull();
+            } else if (valor instanceof Long || valor instanceof Integer || valor instanceof Short) {
+                gerador.writeNumber(((Number) valor).longValue());
+            } else if (valor instanceof Number numero) {
+                gerador.writeNumber(numero.toString());
+            } else if (valor instanceof Boolean booleano) {
+                gerador.writeBoolean(booleano);
+            } else {
+                gerador.writeString(valor.toString());
+            }
+        }
+        gerador.writeEndObject();
+        gerador.writeRaw('\n');
+    }
+
+    @Override
+    public void finalizar() throws IOException {
+        gerador.flush();
+    }
+}
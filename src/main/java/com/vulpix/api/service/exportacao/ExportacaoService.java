@@ -0,0 +1,303 @@
+package com.vulpix.api.service.exportacao;
+
+import com.vulpix.api.entity.TarefaExportacao;
+import com.vulpix.api.exception.exceptions.LimiteRequisicoesException;
+import com.vulpix.api.exception.exceptions.NaoEncontradoException;
+import com.vulpix.api.repository.ExportacaoRepository;
+import com.vulpix.api.repository.TarefaExportacaoRepository;
+import com.vulpix.api.utils.enums.StatusExportacao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportações síncronas (direto na resposta) e assíncronas. As assíncronas ficam em tarefa_exportacao e são
+ * reservadas com um UPDATE condicional, como a fila de publicação; o arquivo vai para exportacao.diretorio,
+ * que precisa ser um volume compartilhado quando a API roda com mais de uma réplica.
+ */
+@Service
+public class ExportacaoService {
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    @Autowired
+    private ExportacaoRepository exportacaoRepository;
+
+    @Autowired
+    private TarefaExportacaoRepository tarefaExportacaoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("taskScheduler")
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    @Qualifier("exportacaoExecutor")
+    private ThreadPoolTaskExecutor exportacaoExecutor;
+
+    @Value("${exportacao.diretorio}")
+    private Path diretorio;
+
+    @Value("${exportacao.executor.fila}")
+    private int capacidadeFila;
+
+    @Value("${exportacao.validade-minutos}")
+    private long validadeMinutos;
+
+    @Value("${exportacao.tentativas-maximas}")
+    private int tentativasMaximas;
+
+    @Value("${exportacao.travada-minutos}")
+    private long minutosTravada;
+
+    @Value("${exportacao.sinal-de-vida-segundos}")
+    private long segundosSinalDeVida;
+
+    private final Set<UUID> enfileiradas = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Escreve o dataset direto na saída (usado pelo download síncrono), lendo por cursor e com
+     * buffers de tamanho fixo, independente do volume exportado.
+     */
+    public long exportar(FiltroExportacao filtro, OutputStream saida) throws IOException {
+        AtomicLong linhas = new AtomicLong();
+        escrever(filtro, saida, linhas);
+        return linhas.get();
+    }
+
+    public TarefaExportacao agendar(FiltroExportacao filtro) {
+        LocalDateTime agora = LocalDateTime.now();
+        TarefaExportacao tarefa = TarefaExportacao.de(filtro);
+        tarefa.setStatus(StatusExportacao.PENDENTE);
+        tarefa.setTentativas(0);
+        tarefa.setCriadaEm(agora);
+        tarefa.setAtualizadaEm(agora);
+
+        TarefaExportacao salva = tarefaExportacaoRepository.save(tarefa);
+        if (!enfileirar(salva.getId())) {
+            // Sem vaga local a tarefa é descartada, a não ser que outra réplica já a tenha reservado
+            if (tarefaExportacaoRepository.descartarPendente(salva.getId())) {
+                throw new LimiteRequisicoesException("Fila de exportações cheia, tente novamente em instantes.");
+            }
+        }
+        return salva;
+    }
+
+    public TarefaExportacao buscarTarefa(UUID idEmpresa, UUID idTarefa) {
+        return tarefaExportacaoRepository.findByIdAndIdEmpresa(idTarefa, idEmpresa)
+                .orElseThrow(() -> new NaoEncontradoException("Exportação não encontrada."));
+    }
+
+    public Path buscarArquivo(TarefaExportacao tarefa) {
+        Path arquivo = caminhoArquivo(tarefa.getId(), tarefa.getTentativas(), tarefa.getFiltro());
+        if (!Files.isReadable(arquivo)) {
+            throw new NaoEncontradoException("Arquivo da exportação não está mais disponível.");
+        }
+        return arquivo;
+    }
+
+    // Devolve para a fila as tarefas presas em andamento (ex.: réplica reiniciada no meio da geração)
+    // e reenvia as pendentes que ainda não estão no executor desta réplica
+    @Scheduled(fixedDelayString = "${exportacao.verificacao.intervalo-ms}")
+    public void verificarPendentes() {
+        LocalDateTime agora = LocalDateTime.now();
+
+        int liberadas = tarefaExportacaoRepository.liberarTravadas(agora.minusMinutes(minutosTravada), agora, tentativasMaximas);
+        if (liberadas > 0) {
+            System.out.println(liberadas + " exportações presas em andamento liberadas (de volta à fila ou em FALHA no limite de tentativas).");
+        }
+
+        int vagas = capacidadeFila - enfileiradas.size();
+        if (vagas <= 0) return;
+
+        tarefaExportacaoRepository.buscarPendentes(vagas).forEach(this::enfileirar);
+    }
+
+    @Scheduled(fixedDelayString = "${exportacao.limpeza.intervalo-ms}")
+    public void removerExpiradas() {
+        LocalDateTime limite = LocalDateTime.now().minusMinutes(validadeMinutos);
+
+        List<TarefaExportacao> expiradas = tarefaExportacaoRepository.findByConcluidaEmBefore(limite);
+        expiradas.forEach(tarefa -> excluirArquivos(tarefa.getId()));
+        tarefaExportacaoRepository.deleteAll(expiradas);
+    }
+
+    private boolean enfileirar(UUID idTarefa) {
+        if (!enfileiradas.add(idTarefa)) return true;
+
+        try {
+            exportacaoExecutor.execute(() -> {
+                try {
+                    executar(idTarefa);
+                } finally {
+                    enfileiradas.remove(idTarefa);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            enfileiradas.remove(idTarefa);
+            return false;
+        }
+    }
+
+    private void executar(UUID idTarefa) {
+        Integer tentativa = tarefaExportacaoRepository.reservar(idTarefa, LocalDateTime.now()).orElse(null);
+        if (tentativa == null) return;
+
+        TarefaExportacao tarefa = tarefaExportacaoRepository.findById(idTarefa).orElse(null);
+        if (tarefa == null) return;
+
+        // Sinal de vida por tempo, independente do ritmo do cursor: uma exportação lenta não é tomada como travada.
+        // Cada tentativa grava no próprio arquivo, então uma tentativa antiga nunca escreve sobre a atual
+        AtomicLong linhas = new AtomicLong();
+        ScheduledFuture<?> sinalDeVida = taskScheduler.scheduleAtFixedRate(
+                () -> registrarProgresso(idTarefa, tentativa, linhas.get()), Duration.ofSeconds(segundosSinalDeVida));
+
+        Path arquivo = caminhoArquivo(tarefa.getId(), tentativa, tarefa.getFiltro());
+        StatusExportacao status;
+        String erro = null;
+        long tamanhoBytes = 0;
+        try {
+            Files.createDirectories(diretorio);
+
+            try (OutputStream saida = Files.newOutputStream(arquivo)) {
+                escrever(tarefa.getFiltro(), saida, linhas);
+            }
+            status = StatusExportacao.CONCLUIDA;
+            tamanhoBytes = Files.size(arquivo);
+        } catch (Exception e) {
+            System.err.println("Erro na exportação " + idTarefa + ": " + e.getMessage());
+            excluirArquivo(arquivo);
+            status = StatusExportacao.FALHA;
+            erro = "Erro ao gerar a exportação.";
+        } finally {
+            sinalDeVida.cancel(false);
+        }
+
+        // Só grava o resultado se esta ainda for a tentativa em andamento; senão ele é descartado
+        if (!tarefaExportacaoRepository.concluir(idTarefa, tentativa, status, linhas.get(), tamanhoBytes, erro, LocalDateTime.now())) {
+            System.out.println("Exportação " + idTarefa + " foi retomada por outra tentativa; resultado da tentativa " + tentativa + " descartado.");
+            excluirArquivo(arquivo);
+            return;
+        }
+
+        if (status == StatusExportacao.CONCLUIDA) {
+            System.out.println("Exportação " + idTarefa + " concluída: " + linhas.get() + " linhas.");
+        }
+    }
+
+    private void registrarProgresso(UUID idTarefa, int tentativa, long linhas) {
+        try {
+            tarefaExportacaoRepository.registrarProgresso(idTarefa, tentativa, linhas, LocalDateTime.now());
+        } catch (Exception e) {
+            System.err.println("Erro ao registrar o progresso da exportação " + idTarefa + ": " + e.getMessage());
+        }
+    }
+
+    private void escrever(FiltroExportacao filtro, OutputStream saida, AtomicLong linhas) throws IOException {
+        OutputStream destino = new BufferedOutputStream(saida, TAMANHO_BUFFER);
+        GZIPOutputStream gzip = filtro.gzip() ? new GZIPOutputStream(destino, TAMANHO_BUFFER) : null;
+        Writer writer = new OutputStreamWriter(gzip != null ? gzip : destino, StandardCharsets.UTF_8);
+        EscritorExportacao escritor = EscritorExportacao.para(filtro.formato(), writer);
+
+        TransactionTemplate leitura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        leitura.setReadOnly(true);
+
+        try {
+            leitura.executeWithoutResult(status -> exportacaoRepository.consultar(
+                    filtro.dataset(), filtro.idEmpresa(), filtro.dataInicio(), filtro.dataFim(), resultado -> {
+                        try {
+                            ResultSetMetaData metadados = resultado.getMetaData();
+                            int quantidadeColunas = metadados.getColumnCount();
+
+                            List<String> colunas = new ArrayList<>(quantidadeColunas);
+                            for (int i = 1; i <= quantidadeColunas; i++) {
+                                colunas.add(metadados.getColumnLabel(i));
+                            }
+                            escritor.iniciar(colunas);
+
+                            Object[] valores = new Object[quantidadeColunas];
+                            while (resultado.next()) {
+                                for (int i = 0; i < quantidadeColunas; i++) {
+                                    valores[i] = converter(resultado.getObject(i + 1));
+                                }
+                                escritor.escreverLinha(valores);
+                                linhas.incrementAndGet();
+                            }
+                            return null;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        escritor.finalizar();
+        writer.flush();
+        if (gzip != null) {
+            gzip.finish();
+        }
+        destino.flush();
+    }
+
+    private Path caminhoArquivo(UUID idTarefa, int tentativa, FiltroExportacao filtro) {
+        return diretorio.resolve(idTarefa + "-" + tentativa + "-" + filtro.nomeArquivo());
+    }
+
+    private Object converter(Object valor) {
+        if (valor instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return valor;
+    }
+
+    // Remove os arquivos de todas as tentativas, inclusive os parciais de tentativas que travaram
+    private void excluirArquivos(UUID idTarefa) {
+        if (!Files.isDirectory(diretorio)) return;
+
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, idTarefa + "-*")) {
+            arquivos.forEach(this::excluirArquivo);
+        } catch (IOException e) {
+            System.err.println("Não foi possível listar os arquivos da exportação " + idTarefa + ": " + e.getMessage());
+        }
+    }
+
+    private void excluirArquivo(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            System.err.println("Não foi possível excluir o arquivo de exportação " + arquivo + ": " + e.getMessage());
+        }
+    }
+}
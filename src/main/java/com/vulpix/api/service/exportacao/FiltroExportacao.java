@@ -0,0 +1,19 @@
+package com.vulpix.api.service.exportacao;
+
+import com.vulpix.api.utils.enums.DatasetExportacao;
+import com.vulpix.api.utils.enums.FormatoExportacao;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record FiltroExportacao(UUID idEmpresa, DatasetExportacao dataset, FormatoExportacao formato, boolean gzip,
+                               LocalDate dataInicio, LocalDate dataFim) {
+
+    public String nomeArquivo() {
+        return dataset.getNome() + "." + formato.getExtensao() + (gzip ? ".gz" : "");
+    }
+
+    public String tipoConteudo() {
+        return gzip ? "application/gzip" : formato.getTipoConteudo();
+    }
+}
@@ -11,13 +11,12 @@ import com.vulpix.api.entity.Empresa;
 import com.vulpix.api.exception.exceptions.NaoEncontradoException;
 import com.vulpix.api.exception.exceptions.RequisicaoInvalidaException;
 import com.vulpix.api.repository.CriativoRepository;
-import com.vulpix.api.service.usuario.autenticacao.UsuarioAutenticadoUtil;
 import com.vulpix.api.utils.helpers.EmpresaHelper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
 import org.springframework.http.*;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
@@ -33,10 +32,9 @@ public class CriativosService {
     private CriativoRepository criativoRepository;
 
     @Autowired
+    @Qualifier("agentRestTemplate")
     private RestTemplate restTemplate;
 
-    @Autowired
-    private UsuarioAutenticadoUtil usuarioAutenticadoUtil;
 
     @Autowired
     private EmpresaHelper empresaHelper;
@@ -44,8 +42,11 @@ public class CriativosService {
     @Value("${ip.agent}")
     private String ipAgent;
 
+    @Value("${agent.porta}")
+    private int portaAgent;
+
     public PublicacaoGeradaRetorno buscaCriativos(String prompt, String userRequest) {
-        String URL = "http://" + ipAgent + ":5000/generate-content";
+        String URL = "http://" + ipAgent + ":" + portaAgent + "/generate-content";
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
 
@@ -99,7 +100,7 @@ public class CriativosService {
     }
 
     public String buscaLegenda(String prompt, String userRequest) {
-        String URL = "http://" + ipAgent + ":5000/generate-caption";
+        String URL = "http://" + ipAgent + ":" + portaAgent + "/generate-caption";
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
 
@@ -129,9 +130,7 @@ public class CriativosService {
     }
 
     public void salvaCriativos(String imageUrl, String prompt) {
-        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
-        String emailUsuario = userDetails.getUsername();
-        Empresa empresa = empresaHelper.buscarEmpresaPeloUsuario(emailUsuario);
+        Empresa empresa = empresaHelper.buscarEmpresaAutenticada();
 
         CriativoRequisicaoDto dto = CriativoRequisicaoDto.builder().imageUrl(imageUrl).prompt(prompt).build();
 
@@ -170,7 +169,13 @@ public class CriativosService {
             criativosEntity = criativoRepository.findAllByEmpresaOrderByCreatedAtDesc(empresa, pageable);
         }
 
-        List<Criativo> criativosList = criativosEntity.getContent();
+        List<CriativoResponseDto> responseList = agruparCriativos(criativosEntity.getContent());
+        long totalConjuntos = (criativosEntity.getTotalElements() + 3) / 4;
+
+        return new PageImpl<>(responseList, PageRequest.of(page, size), totalConjuntos);
+    }
+
+    public List<CriativoResponseDto> agruparCriativos(List<Criativo> criativosList) {
         List<CriativoResponseDto> responseList = new ArrayList<>();
 
         for (int i = 0; i < criativosList.size(); i += 4) {
@@ -190,9 +195,7 @@ public class CriativosService {
             responseList.add(dto);
         }
 
-        long totalConjuntos = (criativosEntity.getTotalElements() + 3) / 4;
-
-        return new PageImpl<>(responseList, PageRequest.of(page, size), totalConjuntos);
+        return responseList;
     }
 
     public CriativoRequisicaoDto buscaPorId(UUID id) {
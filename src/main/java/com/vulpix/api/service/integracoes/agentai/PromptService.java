@@ -4,6 +4,7 @@ import com.vulpix.api.entity.ConfigPrompt;
 import com.vulpix.api.utils.JsonConverter;
 import com.vulpix.api.dto.empresa.FormularioRequisicaoDto;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -21,11 +22,15 @@ public class PromptService {
     @Value("${ip.agent}")
     private String ipAgent;
 
+    @Value("${agent.porta}")
+    private int portaAgent;
+
     @Autowired
+    @Qualifier("agentRestTemplate")
     private RestTemplate restTemplate;
 
     public String generatePrompt(FormularioRequisicaoDto formData) {
-        String URL = "http://" + ipAgent + ":5000/generate-prompt";
+        String URL = "http://" + ipAgent + ":" + portaAgent + "/generate-prompt";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
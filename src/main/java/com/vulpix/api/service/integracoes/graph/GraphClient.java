@@ -0,0 +1,107 @@
+package com.vulpix.api.service.integracoes.graph;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Chamadas a Graph API executadas no graphExecutor, devolvendo {@link CompletableFuture}. Quem chama nao fica
+ * preso esperando a resposta e pode sobrepor varias chamadas, limitadas pelas threads do graphExecutor.
+ */
+@Component
+public class GraphClient {
+
+    @Autowired
+    @Qualifier("graphRestTemplate")
+    private RestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier("graphExecutor")
+    private AsyncTaskExecutor graphExecutor;
+
+    public CompletableFuture<ResponseEntity<String>> get(String url) {
+        return executar(url, HttpMethod.GET, null, String.class);
+    }
+
+    public <T> CompletableFuture<ResponseEntity<T>> get(String url, Class<T> tipoResposta) {
+        return executar(url, HttpMethod.GET, null, tipoResposta);
+    }
+
+    public CompletableFuture<ResponseEntity<String>> post(String url, HttpEntity<?> requisicao) {
+        return executar(url, HttpMethod.POST, requisicao, String.class);
+    }
+
+    /**
+     * Percorre uma listagem paginada da Graph. Assim que uma pagina chega, o link da proxima ja e requisitado,
+     * e so depois os itens sao entregues ao consumidor, de forma que o processamento de uma pagina acontece
+     * enquanto a seguinte esta a caminho. O consumidor e chamado na ordem das paginas, um de cada vez,
+     * e interrompe a paginacao devolvendo false.
+     *
+     * @return true se todas as paginas foram percorridas, false se o consumidor interrompeu
+     */
+    public <T> CompletableFuture<Boolean> paginar(String url, Function<String, Pagina<T>> leitor, Predicate<List<T>> consumidor) {
+        return paginar(url, leitor, pagina -> true, consumidor);
+    }
+
+    /**
+     * Como {@link #paginar(String, Function, Predicate)}, mas so antecipa a proxima pagina quando
+     * {@code antecipar} indica que ela sera usada. Uma requisicao ja enviada nao e abortada, entao antecipar
+     * uma pagina que o consumidor vai descartar gasta uma chamada do limite de uso da Graph; nesses casos a
+     * proxima pagina so e pedida depois que o consumidor confirma que quer continuar.
+     */
+    public <T> CompletableFuture<Boolean> paginar(String url, Function<String, Pagina<T>> leitor,
+                                                  Predicate<Pagina<T>> antecipar, Predicate<List<T>> consumidor) {
+        return paginar(get(url), leitor, antecipar, consumidor);
+    }
+
+    private <T> CompletableFuture<Boolean> paginar(CompletableFuture<ResponseEntity<String>> pendente, Function<String, Pagina<T>> leitor,
+                                                   Predicate<Pagina<T>> antecipar, Predicate<List<T>> consumidor) {
+        return pendente.thenCompose(resposta -> {
+            String corpo = resposta.getBody();
+            if (corpo == null || corpo.isEmpty()) return CompletableFuture.completedFuture(true);
+
+            Pagina<T> pagina = leitor.apply(corpo);
+            boolean possuiProxima = pagina.proximaPagina() != null;
+            CompletableFuture<ResponseEntity<String>> proxima = possuiProxima && antecipar.test(pagina) ? get(pagina.proximaPagina()) : null;
+
+            if (!consumidor.test(pagina.itens())) {
+                if (proxima != null) proxima.cancel(false);
+                return CompletableFuture.completedFuture(false);
+            }
+
+            if (!possuiProxima) return CompletableFuture.completedFuture(true);
+            return paginar(proxima != null ? proxima : get(pagina.proximaPagina()), leitor, antecipar, consumidor);
+        });
+    }
+
+    /**
+     * Espera o resultado no fluxo sincrono, relancando a excecao original da chamada
+     * (ex.: HttpClientErrorException) em vez da CompletionException.
+     */
+    public static <T> T aguardar(CompletableFuture<T> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) throw causa;
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> executar(String url, HttpMethod metodo, HttpEntity<?> requisicao, Class<T> tipoResposta) {
+        return CompletableFuture.supplyAsync(() -> restTemplate.exchange(url, metodo, requisicao, tipoResposta), graphExecutor);
+    }
+
+    public record Pagina<T>(List<T> itens, String proximaPagina) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.vulpix.api.service.integracoes.graph;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.vulpix.api.dto.graph.GraphContainerResposta;
+import com.vulpix.api.dto.graph.GraphIdResposta;
+import com.vulpix.api.dto.graph.GraphInsightsResposta;
+import com.vulpix.api.entity.Publicacao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitura das respostas da Graph API com o ObjectMapper da aplicacao. Os ObjectReader tipados sao criados
+ * uma vez; as paginas de midias e o envelope do batch sao lidos em streaming, sem montar a arvore JSON.
+ */
+@Component
+public class GraphJson {
+    // A Graph usa offset sem dois-pontos (2024-11-01T10:00:00+0000); aceita tambem o formato ISO
+    private static final DateTimeFormatter FORMATO_TIMESTAMP = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+            .optionalStart().appendOffset("+HH:MM", "Z").optionalEnd()
+            .optionalStart().appendOffset("+HHMM", "Z").optionalEnd()
+            .toFormatter();
+
+    private final JsonFactory jsonFactory;
+    private final ObjectReader leitorArvore;
+    private final ObjectReader leitorId;
+    private final ObjectReader leitorInsights;
+    private final ObjectReader leitorContainer;
+
+    @Autowired
+    public GraphJson(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.leitorArvore = objectMapper.reader();
+        this.leitorId = objectMapper.readerFor(GraphIdResposta.class);
+        this.leitorInsights = objectMapper.readerFor(GraphInsightsResposta.class);
+        this.leitorContainer = objectMapper.readerFor(GraphContainerResposta.class);
+    }
+
+    public String lerId(String corpo) throws IOException {
+        GraphIdResposta resposta = leitorId.readValue(corpo);
+        return resposta.getId();
+    }
+
+    public GraphInsightsResposta lerInsights(String corpo) throws IOException {
+        return leitorInsights.readValue(corpo);
+    }
+
+    public GraphContainerResposta lerContainer(String corpo) throws IOException {
+        return leitorContainer.readValue(corpo);
+    }
+
+    public JsonNode lerArvore(String corpo) throws IOException {
+        return leitorArvore.readTree(corpo);
+    }
+
+    /**
+     * Le uma pagina de {ig-user-id}/media direto para entidades, em uma passada.
+     */
+    public GraphClient.Pagina<Publicacao> lerPaginaMidias(String corpo) throws IOException {
+        List<Publicacao> posts = new ArrayList<>();
+        String proximaPagina = null;
+
+        try (JsonParser parser = jsonFactory.createParser(corpo)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return new GraphClient.Pagina<>(posts, null);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                JsonToken valor = parser.nextToken();
+
+                if ("data".equals(campo) && valor == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        posts.add(lerMidia(parser));
+                    }
+                } else if ("data".equals(campo) && valor == JsonToken.START_OBJECT) {
+                    posts.add(lerMidia(parser));
+                } else if ("paging".equals(campo) && valor == JsonToken.START_OBJECT) {
+                    proximaPagina = lerProximaPagina(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        return new GraphClient.Pagina<>(posts, proximaPagina);
+    }
+
+    /**
+     * Devolve o campo body de cada item da resposta de um batch, na ordem das operacoes
+     * (null para itens que a Graph nao processou).
+     */
+    public List<String> lerCorposLote(String corpo) throws IOException {
+        List<String> corpos = new ArrayList<>();
+
+        try (JsonParser parser = jsonFactory.createParser(corpo)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) return corpos;
+
+            JsonToken item;
+            while ((item = parser.nextToken()) != null && item != JsonToken.END_ARRAY) {
+                String body = null;
+                if (item == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String campo = parser.currentName();
+                        parser.nextToken();
+                        if ("body".equals(campo)) {
+                            body = parser.getValueAsString();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+                corpos.add(body);
+            }
+        }
+
+        return corpos;
+    }
+
+    private Publicacao lerMidia(JsonParser parser) throws IOException {
+        Publicacao publicacao = new Publicacao();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.currentName();
+            JsonToken valor = parser.nextToken();
+
+            switch (campo) {
+                case "id" -> publicacao.setIdReturned(parser.getValueAsString());
+                case "caption" -> publicacao.setLegenda(parser.getValueAsString());
+                case "media_type" -> publicacao.setTipoMidia(parser.getValueAsString());
+                case "media_url" -> publicacao.setUrlMidia(parser.getValueAsString());
+                case "timestamp" -> publicacao.setDataPublicacao(lerTimestamp(parser));
+                case "like_count" -> publicacao.setLikeCount(valor == JsonToken.VALUE_NULL ? null : parser.getValueAsInt());
+                default -> parser.skipChildren();
+            }
+        }
+
+        return publicacao;
+    }
+
+    private String lerProximaPagina(JsonParser parser) throws IOException {
+        String proximaPagina = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.currentName();
+            parser.nextToken();
+            if ("next".equals(campo)) {
+                proximaPagina = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return proximaPagina;
+    }
+
+    private OffsetDateTime lerTimestamp(JsonParser parser) throws IOException {
+        String valor = parser.getValueAsString();
+        if (valor == null || valor.isEmpty()) return null;
+
+        try {
+            return OffsetDateTime.parse(valor, FORMATO_TIMESTAMP);
+        } catch (DateTimeParseException e) {
+            throw new JsonParseException(parser, "Timestamp inválido: " + valor, e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.vulpix.api.service.integracoes.graph;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.vulpix.api.entity.Integracao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class GraphLimiteUso {
+    public static final String HEADER_USO_APP = "X-App-Usage";
+    public static final String HEADER_USO_CONTA = "X-Business-Use-Case-Usage";
+
+    private static final Set<Integer> CODIGOS_LIMITE = Set.of(4, 17, 32, 613, 80001, 80002, 80004, 80005, 80006, 80008);
+    private static final int PERCENTUAL_INICIO_ESPERA = 75;
+    private static final long ESPERA_POR_PONTO_MS = 400;
+    private static final Duration BLOQUEIO_PADRAO = Duration.ofMinutes(5);
+
+    private final Map<String, Uso> usos = new ConcurrentHashMap<>();
+
+    @Autowired
+    private GraphJson graphJson;
+
+    public void registrar(Integracao integracao, HttpHeaders headers) {
+        if (headers == null) return;
+
+        String usoApp = headers.getFirst(HEADER_USO_APP);
+        if (usoApp != null) {
+            atualizar(chaveApp(integracao), percentualMaximo(lerJson(usoApp)), 0);
+        }
+
+        String usoConta = headers.getFirst(HEADER_USO_CONTA);
+        if (usoConta != null) {
+            int percentual = 0;
+            int minutosParaLiberar = 0;
+            for (JsonNode registros : lerJson(usoConta)) {
+                for (JsonNode registro : registros) {
+                    percentual = Math.max(percentual, percentualMaximo(registro));
+                    minutosParaLiberar = Math.max(minutosParaLiberar, registro.path("estimated_time_to_regain_access").asInt(0));
+                }
+            }
+            atualizar(chaveConta(integracao), percentual, minutosParaLiberar);
+        }
+    }
+
+    public void registrarBloqueio(Integracao integracao) {
+        usos.put(chaveConta(integracao), new Uso(100, Instant.now().plus(BLOQUEIO_PADRAO)));
+    }
+
+    public boolean isErroLimite(HttpStatusCodeException e) {
+        if (e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) return true;
+
+        JsonNode erro = lerJson(e.getResponseBodyAsString()).path("error");
+        return CODIGOS_LIMITE.contains(erro.path("code").asInt(-1));
+    }
+
+    public Duration tempoEspera(Integracao integracao) {
+        Duration esperaApp = tempoEspera(usos.get(chaveApp(integracao)));
+        Duration esperaConta = tempoEspera(usos.get(chaveConta(integracao)));
+        return esperaApp.compareTo(esperaConta) >= 0 ? esperaApp : esperaConta;
+    }
+
+    private Duration tempoEspera(Uso uso) {
+        if (uso == null) return Duration.ZERO;
+
+        Instant agora = Instant.now();
+        if (uso.bloqueadoAte() != null && uso.bloqueadoAte().isAfter(agora)) {
+            return Duration.between(agora, uso.bloqueadoAte());
+        }
+
+        int excedente = uso.percentual() - PERCENTUAL_INICIO_ESPERA;
+        return excedente > 0 ? Duration.ofMillis(excedente * ESPERA_POR_PONTO_MS) : Duration.ZERO;
+    }
+
+    private void atualizar(String chave, int percentual, int minutosParaLiberar) {
+        Instant bloqueadoAte = null;
+        if (minutosParaLiberar > 0) {
+            bloqueadoAte = Instant.now().plus(Duration.ofMinutes(minutosParaLiberar));
+        } else if (percentual >= 100) {
+            bloqueadoAte = Instant.now().plus(BLOQUEIO_PADRAO);
+        }
+        usos.put(chave, new Uso(percentual, bloqueadoAte));
+    }
+
+    private int percentualMaximo(JsonNode uso) {
+        int callCount = uso.path("call_count").asInt(0);
+        int totalCpuTime = uso.path("total_cputime").asInt(0);
+        int totalTime = uso.path("total_time").asInt(0);
+        return Math.max(callCount, Math.max(totalCpuTime, totalTime));
+    }
+
+    private JsonNode lerJson(String conteudo) {
+        try {
+            JsonNode arvore = graphJson.lerArvore(conteudo);
+            return arvore != null ? arvore : MissingNode.getInstance();
+        } catch (Exception e) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    private String chaveApp(Integracao integracao) {
+        return "app:" + integracao.getClientId();
+    }
+
+    private String chaveConta(Integracao integracao) {
+        return "conta:" + integracao.getIgUserId();
+    }
+
+    private record Uso(int percentual, Instant bloqueadoAte) {
+    }
+}
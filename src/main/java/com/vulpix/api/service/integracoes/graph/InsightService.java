@@ -1,33 +1,45 @@
 package com.vulpix.api.service.integracoes.graph;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vulpix.api.dto.graph.GraphInsightsResposta;
 import com.vulpix.api.entity.Integracao;
 import com.vulpix.api.entity.PostInsights;
 import com.vulpix.api.entity.Publicacao;
+import com.vulpix.api.exception.exceptions.LimiteRequisicoesException;
 import com.vulpix.api.repository.EmpresaRepository;
 import com.vulpix.api.repository.InsightRepository;
 import com.vulpix.api.repository.IntegracaoRepository;
 import com.vulpix.api.repository.PublicacaoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class InsightService {
-    private final RestTemplate restTemplate;
+    private static final int TAMANHO_MAXIMO_LOTE = 50;
+
+    private final GraphJson graphJson;
+    @Autowired
+    private GraphClient graphClient;
     @Autowired
     private IntegracaoRepository integracaoRepository;
     @Autowired
@@ -38,26 +50,86 @@ public class InsightService {
     private EmpresaRepository empresaRepository;
     @Autowired
     private TokenService tokenService;
+    @Autowired
+    private GraphLimiteUso graphLimiteUso;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${insights.janela-dias}")
+    private long janelaDias;
+
+    @Value("${insights.lote.paralelismo}")
+    private int paralelismoLotes;
+
+    @Value("${graph.url-base}")
+    private String graphUrlBase;
 
     @Autowired
-    public InsightService(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public InsightService(GraphJson graphJson) {
+        this.graphJson = graphJson;
     }
 
     public void fetchInsightsBatch(Integracao integracao) {
-        List<Publicacao> publicacoes = publicacaoRepository.findByEmpresaId(integracao.getEmpresa().getId());
+        OffsetDateTime dataLimite = OffsetDateTime.now().minusDays(janelaDias);
+        List<Publicacao> publicacoes = publicacaoRepository.findParaAtualizarInsights(integracao.getEmpresa().getId(), dataLimite);
+
+        List<List<Publicacao>> lotes = new ArrayList<>();
+        for (int inicio = 0; inicio < publicacoes.size(); inicio += TAMANHO_MAXIMO_LOTE) {
+            lotes.add(publicacoes.subList(inicio, Math.min(inicio + TAMANHO_MAXIMO_LOTE, publicacoes.size())));
+        }
+
+        // No maximo insights.lote.paralelismo lotes em andamento por integracao: os lotes sao
+        // distribuidos entre as filas e cada fila encadeia o proximo lote quando o anterior responde
+        int quantidadeFilas = Math.min(paralelismoLotes, lotes.size());
+        List<CompletableFuture<List<PostInsights>>> filas = new ArrayList<>();
+        for (int fila = 0; fila < quantidadeFilas; fila++) {
+            CompletableFuture<List<PostInsights>> encadeamento = CompletableFuture.completedFuture(new ArrayList<>());
+            for (int indice = fila; indice < lotes.size(); indice += quantidadeFilas) {
+                List<Publicacao> lote = lotes.get(indice);
+                encadeamento = encadeamento.thenCompose(acumulado -> processarLote(integracao, lote)
+                        .thenApply(resultado -> {
+                            acumulado.addAll(resultado);
+                            return acumulado;
+                        }));
+            }
+            filas.add(encadeamento);
+        }
+
+        List<PostInsights> snapshots = new ArrayList<>();
+        for (CompletableFuture<List<PostInsights>> fila : filas) {
+            snapshots.addAll(GraphClient.aguardar(fila));
+        }
+
+        if (snapshots.isEmpty()) return;
+
+        UUID idEmpresa = integracao.getEmpresa().getId();
+        Set<LocalDate> diasColetados = new TreeSet<>();
+        for (PostInsights snapshot : snapshots) {
+            diasColetados.add(snapshot.getCreatedAt().atZoneSameInstant(ZoneId.systemDefault()).toLocalDate());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            insightRepository.saveAllAndFlush(snapshots);
+            insightRepository.atualizarUltimosInsights(idEmpresa, snapshots);
+            for (LocalDate dia : diasColetados) {
+                insightRepository.atualizarResumoDiario(idEmpresa, dia);
+            }
+        });
+        eventPublisher.publishEvent(new InsightsAtualizadosEvent(idEmpresa));
+        System.out.println("Insights salvos para " + snapshots.size() + " posts da integração: " + integracao.getId());
+    }
 
+    private CompletableFuture<List<PostInsights>> processarLote(Integracao integracao, List<Publicacao> lote) {
         List<Map<String, String>> batchRequests = new ArrayList<>();
-        for (Publicacao publicacao : publicacoes) {
+        for (Publicacao publicacao : lote) {
             Map<String, String> operation = new HashMap<>();
             operation.put("method", "GET");
             operation.put("relative_url", publicacao.getIdReturned() + "/insights?metric=impressions,saved,likes,comments,shares,profile_visits,follows");
             batchRequests.add(operation);
         }
 
-        System.out.println("Requisição: \n"+batchRequests);
-
-        String url = "https://graph.facebook.com/v17.0";
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
 
@@ -67,42 +139,70 @@ public class InsightService {
 
         HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
 
-        try {
-            ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
+        return graphClient.post(graphUrlBase, request).handle((response, erro) -> {
+            if (erro != null) {
+                throw traduzirErroLote(integracao, erro instanceof CompletionException ? erro.getCause() : erro);
+            }
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                ObjectMapper objectMapper = new ObjectMapper();
-                JsonNode rootNode = objectMapper.readTree(response.getBody());
+            graphLimiteUso.registrar(integracao, response.getHeaders());
 
-                for (int i = 0; i < rootNode.size(); i++) {
-                    JsonNode resultNode = rootNode.get(i);
-                    if (resultNode.has("body")) {
-                        JsonNode insightsNode = objectMapper.readTree(resultNode.get("body").asText());
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                throw new RuntimeException("Erro ao buscar insights: " + response.getStatusCode());
+            }
 
-                        String postId = publicacoes.get(i).getIdReturned();
+            try {
+                return lerRespostaLote(response.getBody(), lote, OffsetDateTime.now());
+            } catch (IOException e) {
+                throw new RuntimeException("Erro ao processar resposta da API", e);
+            }
+        });
+    }
 
-                        salvarInsights(insightsNode, postId);
-                        System.out.println("Salvando insight do post: "+postId);
-                    }
-                }
-            } else {
-                throw new RuntimeException("Erro ao buscar insights: " + response.getStatusCode());
+    private RuntimeException traduzirErroLote(Integracao integracao, Throwable erro) {
+        if (erro instanceof HttpClientErrorException e) {
+            graphLimiteUso.registrar(integracao, e.getResponseHeaders());
+            if (graphLimiteUso.isErroLimite(e)) {
+                graphLimiteUso.registrarBloqueio(integracao);
+                return new LimiteRequisicoesException("Limite de uso da Graph API atingido para a integração: " + integracao.getId());
+            }
+            return new RuntimeException("Erro na requisição batch: " + e.getResponseBodyAsString(), e);
+        }
+        if (erro instanceof RuntimeException e) return e;
+        return new CompletionException(erro);
+    }
+
+    public List<PostInsights> lerRespostaLote(String corpo, List<Publicacao> lote, OffsetDateTime dataColeta) throws IOException {
+        List<PostInsights> snapshots = new ArrayList<>();
+        List<String> corpos = graphJson.lerCorposLote(corpo);
+
+        // A Graph responde o batch na mesma ordem das operações enviadas; itens que não foram processados vêm nulos.
+        for (int indiceOperacao = 0; indiceOperacao < corpos.size() && indiceOperacao < lote.size(); indiceOperacao++) {
+            String corpoOperacao = corpos.get(indiceOperacao);
+            if (corpoOperacao != null) {
+                GraphInsightsResposta insights = graphJson.lerInsights(corpoOperacao);
+
+                PostInsights postInsights = extrairInsights(insights, lote.get(indiceOperacao), dataColeta);
+                if (postInsights != null) snapshots.add(postInsights);
             }
-        } catch (HttpClientErrorException e) {
-            throw new RuntimeException("Erro na requisição batch: " + e.getResponseBodyAsString(), e);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Erro ao processar resposta da API", e);
         }
+        return snapshots;
     }
-    private void salvarInsights(JsonNode insightsNode, String postId) {
-        PostInsights postInsights = new PostInsights();
-        System.out.println("Resposta recebida: " + insightsNode.toPrettyString());
 
-        JsonNode dataNode = insightsNode.get("data");
-        if (dataNode != null && dataNode.isArray()) {
-            dataNode.forEach(metric -> {
-                String name = metric.path("name").asText();
-                int value = extrairMetricas(metric);
+    private PostInsights extrairInsights(GraphInsightsResposta insights, Publicacao publicacao, OffsetDateTime dataColeta) {
+        PostInsights postInsights = PostInsights.builder()
+                .likes(0)
+                .comments(0)
+                .shares(0)
+                .saves(0)
+                .impressions(0)
+                .profileVisits(0)
+                .follows(0)
+                .build();
+
+        if (insights.getData() != null) {
+            insights.getData().forEach(metric -> {
+                String name = metric.getName();
+                int value = metric.primeiroValor();
 
                 switch (name) {
                     case "impressions":
@@ -131,24 +231,12 @@ public class InsightService {
                 }
             });
         } else {
-            System.out.println("O nó 'data' está ausente ou não é um array para o postId: " + postId);
-            return;
+            System.out.println("O nó 'data' está ausente ou não é um array para o postId: " + publicacao.getIdReturned());
+            return null;
         }
 
-        postInsights.setCreatedAt(OffsetDateTime.now());
-
-        Publicacao publicacao = publicacaoRepository.findByIdReturned(postId)
-                .orElseThrow(() -> new RuntimeException("Publicacao não encontrada para postId: " + postId));
-
+        postInsights.setCreatedAt(dataColeta);
         postInsights.setPublicacao(publicacao);
-
-        insightRepository.save(postInsights);
-    }
-
-    private int extrairMetricas(JsonNode metric) {
-        JsonNode valuesNode = metric.path("values");
-        if (valuesNode.isArray() && valuesNode.size() > 0) return valuesNode.get(0).path("value").asInt(0);
-
-        return 0;
+        return postInsights;
     }
 }
@@ -0,0 +1,6 @@
+package com.vulpix.api.service.integracoes.graph;
+
+import java.util.UUID;
+
+public record InsightsAtualizadosEvent(UUID idEmpresa) {
+}
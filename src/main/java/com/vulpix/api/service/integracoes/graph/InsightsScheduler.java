@@ -1,15 +1,25 @@
 package com.vulpix.api.service.integracoes.graph;
 
 import com.vulpix.api.entity.Integracao;
+import com.vulpix.api.exception.exceptions.LimiteRequisicoesException;
 import com.vulpix.api.repository.IntegracaoRepository;
 import com.vulpix.api.service.usuario.autenticacao.UsuarioAutenticadoUtil;
 import com.vulpix.api.utils.enums.TipoIntegracao;
 import com.vulpix.api.utils.helpers.EmpresaHelper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class InsightsScheduler {
@@ -25,18 +35,76 @@ public class InsightsScheduler {
     @Autowired
     private EmpresaHelper empresaHelper;
 
+    @Autowired
+    private GraphLimiteUso graphLimiteUso;
+
+    @Autowired
+    @Qualifier("insightsExecutor")
+    private ThreadPoolTaskExecutor insightsExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${insights.limite-uso.espera-maxima-segundos}")
+    private long esperaMaximaSegundos;
+
     @Scheduled(cron = "0 0 * * * *")
     public void buscarInsights() {
+        long inicio = System.nanoTime();
         List<Integracao> integracoes = integracaoRepository.findByStatusAndTipo(true, TipoIntegracao.INSTAGRAM);
 
-        for (Integracao integracao : integracoes) {
-            try {
-                insightService.fetchInsightsBatch(integracao);
-                System.out.println("Insights atualizados para a integração: " + integracao.getId());
-            } catch (Exception e) {
-                System.err.println("Erro ao processar integração ID: " + integracao.getId());
-                e.printStackTrace();
+        List<CompletableFuture<ResultadoColeta>> coletas = integracoes.stream()
+                .map(integracao -> CompletableFuture.supplyAsync(() -> coletarInsights(integracao), insightsExecutor))
+                .toList();
+
+        Map<ResultadoColeta, Integer> totais = new EnumMap<>(ResultadoColeta.class);
+        for (CompletableFuture<ResultadoColeta> coleta : coletas) {
+            totais.merge(coleta.join(), 1, Integer::sum);
+        }
+
+        long duracao = System.nanoTime() - inicio;
+        meterRegistry.timer("vulpix.insights.coleta.duracao").record(duracao, TimeUnit.NANOSECONDS);
+        for (ResultadoColeta resultado : ResultadoColeta.values()) {
+            meterRegistry.counter("vulpix.insights.coleta.integracoes", "resultado", resultado.name().toLowerCase())
+                    .increment(totais.getOrDefault(resultado, 0));
+        }
+
+        System.out.println("Coleta de insights finalizada em " + TimeUnit.NANOSECONDS.toMillis(duracao) + "ms - " +
+                "processadas: " + totais.getOrDefault(ResultadoColeta.PROCESSADA, 0) +
+                ", limitadas: " + totais.getOrDefault(ResultadoColeta.LIMITADA, 0) +
+                ", falhas: " + totais.getOrDefault(ResultadoColeta.FALHA, 0));
+    }
+
+    private ResultadoColeta coletarInsights(Integracao integracao) {
+        try {
+            Duration espera = graphLimiteUso.tempoEspera(integracao);
+            if (espera.getSeconds() > esperaMaximaSegundos) {
+                System.out.println("Integração " + integracao.getId() + " ignorada nesta execução por limite de uso da Graph API.");
+                return ResultadoColeta.LIMITADA;
             }
+            if (!espera.isZero()) {
+                Thread.sleep(espera.toMillis());
+            }
+
+            insightService.fetchInsightsBatch(integracao);
+            System.out.println("Insights atualizados para a integração: " + integracao.getId());
+            return ResultadoColeta.PROCESSADA;
+        } catch (LimiteRequisicoesException e) {
+            System.err.println(e.getMessage());
+            return ResultadoColeta.LIMITADA;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResultadoColeta.FALHA;
+        } catch (Exception e) {
+            System.err.println("Erro ao processar integração ID: " + integracao.getId());
+            e.printStackTrace();
+            return ResultadoColeta.FALHA;
         }
     }
+
+    private enum ResultadoColeta {
+        PROCESSADA,
+        LIMITADA,
+        FALHA
+    }
 }
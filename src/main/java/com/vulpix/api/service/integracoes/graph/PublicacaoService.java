@@ -1,53 +1,67 @@
 package com.vulpix.api.service.integracoes.graph;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.vulpix.api.dto.graph.GraphContainerResposta;
+import com.vulpix.api.dto.graph.GraphInsightsResposta;
+import com.vulpix.api.dto.publicacao.EngajamentoDto;
+import com.vulpix.api.dto.publicacao.EngajamentoProjecao;
 import com.vulpix.api.dto.publicacao.GetPublicacaoDto;
+import com.vulpix.api.dto.publicacao.PublicacoesPorPeriodoDto;
 import com.vulpix.api.dto.publicacao.Insights.PublicacaoInsightDto;
 import com.vulpix.api.dto.publicacao.Insights.ValueDto;
 import com.vulpix.api.entity.Empresa;
 import com.vulpix.api.entity.Integracao;
 import com.vulpix.api.entity.Publicacao;
 import com.vulpix.api.exception.exceptions.RequisicaoInvalidaException;
-import com.vulpix.api.utils.enums.StatusPublicacao;
-import com.vulpix.api.utils.enums.TipoIntegracao;
 import com.vulpix.api.utils.integracao.Graph;
 import com.vulpix.api.repository.EmpresaRepository;
 import com.vulpix.api.repository.IntegracaoRepository;
 import com.vulpix.api.repository.PublicacaoRepository;
+import com.vulpix.api.utils.PublicacaoCsv;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import java.util.List;
 
 @Service
 public class PublicacaoService {
-    private final RestTemplate restTemplate;
+    @Autowired
+    private GraphClient graphClient;
+    @Autowired
+    private GraphJson graphJson;
     @Autowired
     private IntegracaoRepository integracaoRepository;
     @Autowired
@@ -56,14 +70,18 @@ public class PublicacaoService {
     private EmpresaRepository empresaRepository;
     @Autowired
     private TokenService tokenService;
-
     @Autowired
-    public PublicacaoService(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
-    }
+    private TransactionTemplate transactionTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public Long criarContainer(Integracao integracao, Publicacao post) {
-        String url = Graph.BASE_URL + integracao.getIgUserId() + "/media";
+    private static final int LIMITE_MAXIMO_POR_PERIODO = 200;
+
+    @Value("${graph.url-base}")
+    private String graphUrlBase;
+
+    public CompletableFuture<Long> criarContainer(Integracao integracao, Publicacao post) {
+        String url = graphUrlBase + "/" + integracao.getIgUserId() + "/media";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
@@ -75,25 +93,60 @@ public class PublicacaoService {
 
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
 
-        try {
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, request, String.class);
+        return graphClient.post(url, request).handle((response, erro) -> {
+            Throwable causa = erro instanceof CompletionException ? erro.getCause() : erro;
+            if (causa instanceof HttpClientErrorException e) {
+                throw new RuntimeException("Erro ao criar o container: " + e.getResponseBodyAsString(), e);
+            }
+            if (causa != null) throw new CompletionException(causa);
 
             if (response.getStatusCode().is2xxSuccessful()) {
-                ObjectMapper objectMapper = new ObjectMapper();
-                JsonNode root = objectMapper.readTree(response.getBody());
-                return Long.parseLong(root.path("id").asText());
+                try {
+                    return Long.parseLong(graphJson.lerId(response.getBody()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
             } else {
                 throw new RuntimeException("Falha ao criar o container: " + response.getStatusCode());
             }
-        } catch (HttpClientErrorException e) {
-            throw new RuntimeException("Erro ao criar o container: " + e.getResponseBodyAsString(), e);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
+        });
     }
 
-    public String criarPublicacao(Integracao integracao, Long idContainer) {
-        String url = Graph.BASE_URL + integracao.getIgUserId() + "/media_publish";
+    public CompletableFuture<GraphContainerResposta> buscarStatusContainer(Integracao integracao, String idContainer) {
+        String url = UriComponentsBuilder.fromHttpUrl(graphUrlBase)
+                .pathSegment(idContainer)
+                .queryParam("fields", "status_code,status")
+                .queryParam("access_token", integracao.getAccessToken())
+                .toUriString();
+
+        return graphClient.get(url).thenApply(response -> {
+            try {
+                return graphJson.lerContainer(response.getBody());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Um container PUBLISHED já virou mídia, mas a Graph não informa qual: procura entre as mídias recentes a
+    // de mesma legenda publicada depois da criação do container
+    public CompletableFuture<Optional<String>> buscarMidiaPublicada(Integracao integracao, String legenda, OffsetDateTime desde) {
+        String url = UriComponentsBuilder.fromHttpUrl(graphUrlBase)
+                .pathSegment(integracao.getIgUserId(), "media")
+                .queryParam("fields", Graph.FIELDS)
+                .queryParam("limit", 25)
+                .queryParam("access_token", integracao.getAccessToken())
+                .toUriString();
+
+        return graphClient.get(url).thenApply(response -> lerPaginaGraph(response.getBody()).itens().stream()
+                .filter(midia -> Objects.equals(midia.getLegenda(), legenda))
+                .filter(midia -> desde == null || midia.getDataPublicacao() == null || !midia.getDataPublicacao().isBefore(desde.minusMinutes(1)))
+                .map(Publicacao::getIdReturned)
+                .findFirst());
+    }
+
+    public CompletableFuture<String> criarPublicacao(Integracao integracao, Long idContainer) {
+        String url = graphUrlBase + "/" + integracao.getIgUserId() + "/media_publish";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
@@ -104,19 +157,23 @@ public class PublicacaoService {
 
         HttpEntity<String> request = new HttpEntity<>(headers);
 
-        try {
-            ResponseEntity<String> response = restTemplate.exchange(uriBuilder.toUriString(), HttpMethod.POST, request, String.class);
+        return graphClient.post(uriBuilder.toUriString(), request).handle((response, erro) -> {
+            Throwable causa = erro instanceof CompletionException ? erro.getCause() : erro;
+            if (causa instanceof HttpClientErrorException e) {
+                throw new RuntimeException("Erro ao chamar a API: " + e.getMessage(), e);
+            }
+            if (causa != null) throw new CompletionException(causa);
 
             if (response.getStatusCode().is2xxSuccessful()) {
-                String responseBody = response.getBody();
-                String id = responseBody.replaceAll(".*\"id\":\"([^\"]+)\".*", "$1");
-                return id;
+                try {
+                    return graphJson.lerId(response.getBody());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
             } else {
                 throw new RuntimeException("Falha ao criar a publicação: " + response.getStatusCode());
             }
-        } catch (HttpClientErrorException e) {
-            throw new RuntimeException("Erro ao chamar a API: " + e.getMessage(), e);
-        }
+        });
     }
 
     public void sincronizarPosts(UUID idEmpresa) {
@@ -126,80 +183,98 @@ public class PublicacaoService {
             throw new EntityNotFoundException("Integração não encontrada para a empresa.");
         }
 
-        Integracao integracao = integracaoOpt.get();
+        sincronizarPosts(integracaoOpt.get());
+    }
 
-        String url = Graph.BASE_URL + integracao.getIgUserId() + "/media?fields=" + Graph.FIELDS +
-                "&access_token=" + integracao.getAccessToken();
+    public void sincronizarPosts(Integracao integracao) {
+        sincronizarPosts(integracao, false);
+    }
+
+    public void reconciliarPosts(Integracao integracao) {
+        sincronizarPosts(integracao, true);
+    }
 
-        Optional<Empresa> empresaOpt = empresaRepository.findById(idEmpresa);
-        if (empresaOpt.isEmpty()) {
+    private void sincronizarPosts(Integracao integracao, boolean reconciliacaoCompleta) {
+        Empresa empresa = integracao.getEmpresa();
+        if (empresa == null) {
             throw new EntityNotFoundException("Empresa não encontrada.");
         }
 
-        Empresa empresa = empresaOpt.get();
-        List<String> idsPostsAtuais = new ArrayList<>();
-        List<Publicacao> todosOsPosts = new ArrayList<>();
+        // A Graph devolve as mídias da mais recente para a mais antiga, então na sincronização incremental basta
+        // paginar até passar da marca. Posts no mesmo segundo da marca ainda são lidos (um deles pode não ter entrado
+        // na execução anterior); os que já estão no banco são ignorados e os demais entram pelo upsert.
+        OffsetDateTime marcaSincronizacao = reconciliacaoCompleta ? null : integracao.getUltimoPostSincronizado();
+        OffsetDateTime[] postMaisRecente = {integracao.getUltimoPostSincronizado()};
+        Set<String> conhecidosNaMarca = marcaSincronizacao == null ? Set.of()
+                : new HashSet<>(publicacaoRepository.findIdsReturnedByEmpresaIdAndDataPublicacao(empresa.getId(), marcaSincronizacao));
 
-        while (url != null) {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+        String url = graphUrlBase + "/" + integracao.getIgUserId() + "/media?fields=" + Graph.FIELDS +
+                "&access_token=" + integracao.getAccessToken();
 
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+        List<String> idsPostsAtuais = new ArrayList<>();
+        List<Publicacao> todosOsPosts = new ArrayList<>();
+        boolean paginacaoCompleta = true;
 
-            if (response.getBody() == null || response.getBody().isEmpty()) {
-                break;
-            }
+        // A próxima página é requisitada enquanto a atual é processada, exceto quando a página atual já
+        // alcança a marca da última sincronização: aí a paginação termina nela e a próxima seria uma chamada perdida
+        Predicate<GraphClient.Pagina<Publicacao>> antecipar = pagina -> marcaSincronizacao == null || pagina.itens().stream()
+                .map(Publicacao::getDataPublicacao)
+                .noneMatch(data -> data != null && data.isBefore(marcaSincronizacao));
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.registerModule(new JavaTimeModule());
-            objectMapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+        CompletableFuture<Boolean> paginacao = graphClient.paginar(url, this::lerPaginaGraph, antecipar, posts -> {
+            for (Publicacao post : posts) {
+                OffsetDateTime dataPost = post.getDataPublicacao();
 
-            try {
-                JsonNode rootNode = objectMapper.readTree(response.getBody());
-                JsonNode dataNode = rootNode.path("data");
-
-                if (dataNode.isArray()) {
-                    List<GetPublicacaoDto> postsReturn = objectMapper.convertValue(dataNode,
-                            objectMapper.getTypeFactory().constructCollectionType(List.class, GetPublicacaoDto.class));
-
-                    List<Publicacao> posts = postsReturn.stream().map(item -> {
-                        Publicacao postDto = new Publicacao();
-                        postDto.setIdReturned(item.getId());
-                        postDto.setLegenda(item.getLegenda());
-                        postDto.setTipoMidia(item.getTipoMidia());
-                        postDto.setUrlMidia(item.getUrlMidia());
-                        postDto.setDataPublicacao(item.getDataPublicacao());
-                        postDto.setLikeCount(item.getLikeCount());
-                        idsPostsAtuais.add(item.getId());
-                        return postDto;
-                    }).collect(Collectors.toList());
-
-                    todosOsPosts.addAll(posts);
+                if (marcaSincronizacao != null && dataPost != null) {
+                    if (dataPost.isBefore(marcaSincronizacao)) return false;
+                    if (dataPost.isEqual(marcaSincronizacao) && conhecidosNaMarca.contains(post.getIdReturned())) continue;
                 }
 
-                JsonNode pagingNode = rootNode.path("paging");
-                if (pagingNode.has("next")) {
-                    url = pagingNode.path("next").asText();
-                } else {
-                    url = null;
-                }
+                idsPostsAtuais.add(post.getIdReturned());
+                todosOsPosts.add(post);
 
-            } catch (IOException e) {
-                e.printStackTrace();
+                if (dataPost != null && (postMaisRecente[0] == null || dataPost.isAfter(postMaisRecente[0]))) {
+                    postMaisRecente[0] = dataPost;
+                }
             }
 
-            System.out.println("Sincronizando página da API: " + url);
             System.out.println("Posts sincronizados até agora: " + todosOsPosts.size());
+            return true;
+        });
+
+        try {
+            GraphClient.aguardar(paginacao);
+        } catch (UncheckedIOException e) {
+            e.printStackTrace();
+            paginacaoCompleta = false;
         }
 
-        salvarPostNoBanco(todosOsPosts, empresa);
-        excluirPostsRemovidos(idsPostsAtuais, empresa);
+        OffsetDateTime ultimoPostSincronizado = postMaisRecente[0];
+        boolean sincronizacaoConcluida = paginacaoCompleta;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            salvarPostNoBanco(todosOsPosts, empresa);
+            if (!sincronizacaoConcluida) return;
+
+            if (reconciliacaoCompleta) {
+                publicacaoRepository.excluirAusentes(empresa.getId(), idsPostsAtuais);
+            }
+
+            // Só as colunas da sincronização: a integração foi lida antes da paginação e salvá-la inteira
+            // sobrescreveria um token renovado nesse meio tempo
+            integracaoRepository.atualizarSincronizacao(integracao.getId(), ultimoPostSincronizado, LocalDateTime.now());
+        });
     }
 
-    public Page<GetPublicacaoDto> buscarPosts(UUID idEmpresa, int page, int size, String dataInicio, String dataFim) {
-        sincronizarPosts(idEmpresa);
+    private GraphClient.Pagina<Publicacao> lerPaginaGraph(String corpo) {
+        try {
+            return graphJson.lerPaginaMidias(corpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
+    public Page<GetPublicacaoDto> buscarPosts(UUID idEmpresa, int page, int size, String dataInicio, String dataFim) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("dataPublicacao").descending());
 
         OffsetDateTime dataFiltroInicio = null;
@@ -236,6 +311,88 @@ public class PublicacaoService {
         });
     }
 
+    public Optional<GetPublicacaoDto> buscarPrimeiroPostDoDia(UUID idEmpresa, LocalDate dia) {
+        OffsetDateTime inicio = dia.atStartOfDay().atOffset(ZoneOffset.UTC);
+
+        return publicacaoRepository.findPorPeriodo(idEmpresa, inicio, inicio.plusDays(1), 1).stream()
+                .findFirst()
+                .map(this::toGetPublicacaoDto);
+    }
+
+    public PublicacoesPorPeriodoDto buscarPostsPorPeriodo(UUID idEmpresa, LocalDate dataInicio, LocalDate dataFim, String cursor, int limite) {
+        if (dataInicio.isAfter(dataFim)) {
+            throw new RequisicaoInvalidaException("Data de início não pode ser posterior à data de fim.");
+        }
+
+        OffsetDateTime inicio = dataInicio.atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime fim = dataFim.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        int tamanhoPagina = Math.min(Math.max(limite, 1), LIMITE_MAXIMO_POR_PERIODO);
+
+        // Busca um item a mais só para saber se existe próxima página
+        List<Publicacao> publicacoes;
+        if (cursor == null || cursor.isBlank()) {
+            publicacoes = publicacaoRepository.findPorPeriodo(idEmpresa, inicio, fim, tamanhoPagina + 1);
+        } else {
+            CursorPublicacao posicao = CursorPublicacao.decodificar(cursor);
+            publicacoes = publicacaoRepository.findPorPeriodoAposCursor(idEmpresa, inicio, fim, posicao.data(), posicao.id(), tamanhoPagina + 1);
+        }
+
+        boolean possuiProximaPagina = publicacoes.size() > tamanhoPagina;
+        if (possuiProximaPagina) {
+            publicacoes = publicacoes.subList(0, tamanhoPagina);
+        }
+
+        Publicacao ultima = publicacoes.isEmpty() ? null : publicacoes.get(publicacoes.size() - 1);
+        return PublicacoesPorPeriodoDto.builder()
+                .posts(publicacoes.stream().map(this::toGetPublicacaoDto).toList())
+                .proximoCursor(possuiProximaPagina ? new CursorPublicacao(ultima.getDataPublicacao(), ultima.getId()).codificar() : null)
+                .build();
+    }
+
+    private GetPublicacaoDto toGetPublicacaoDto(Publicacao publicacao) {
+        return GetPublicacaoDto.builder()
+                .id(publicacao.getIdReturned())
+                .legenda(publicacao.getLegenda())
+                .tipoMidia(publicacao.getTipoMidia())
+                .urlMidia(publicacao.getUrlMidia())
+                .dataPublicacao(publicacao.getDataPublicacao())
+                .likeCount(publicacao.getLikeCount())
+                .build();
+    }
+
+    private record CursorPublicacao(OffsetDateTime data, UUID id) {
+        String codificar() {
+            String valor = data + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static CursorPublicacao decodificar(String cursor) {
+            try {
+                String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separador = valor.indexOf('|');
+                return new CursorPublicacao(OffsetDateTime.parse(valor.substring(0, separador)), UUID.fromString(valor.substring(separador + 1)));
+            } catch (RuntimeException e) {
+                throw new RequisicaoInvalidaException("Cursor de paginação inválido.");
+            }
+        }
+    }
+
+    public EngajamentoDto buscarEngajamento(UUID idEmpresa, LocalDate dataInicio, LocalDate dataFim) {
+        if (dataInicio != null && dataFim != null && dataInicio.isAfter(dataFim)) {
+            throw new RequisicaoInvalidaException("Data de início não pode ser posterior à data de fim.");
+        }
+
+        EngajamentoProjecao engajamento = publicacaoRepository.findEngajamentoByEmpresaAndPeriodo(idEmpresa, dataInicio, dataFim);
+
+        return EngajamentoDto.builder()
+                .dataInicio(dataInicio)
+                .dataFim(dataFim)
+                .totalLikes(engajamento.getTotalLikes())
+                .totalPosts(engajamento.getTotalPosts())
+                .mediaLikes(engajamento.getMediaLikes())
+                .build();
+    }
+
     public List<GetPublicacaoDto> buscarPostsSemPaginacao(UUID idEmpresa) {
         List<Publicacao> publicacoes = publicacaoRepository.findByEmpresaId(idEmpresa);
 
@@ -253,92 +410,78 @@ public class PublicacaoService {
         return postsReturn;
     }
 
-    public void salvarPostNoBanco(List<Publicacao> posts, Empresa empresa) {
-        posts.forEach(post -> {
-            post.setEmpresa(empresa);
-            Optional<Publicacao> postExistente = publicacaoRepository.findByIdReturned(post.getIdReturned());
-            if (postExistente.isEmpty()) {
-                publicacaoRepository.save(post);
-            }
-        });
-    }
-    @Transactional
-    @Scheduled(fixedRate = 60000)
-    public void processarPublicacoesAgendadas() {
-        List<Publicacao> agendadas = publicacaoRepository.findByStatus(StatusPublicacao.AGENDADA);
-        System.out.println(OffsetDateTime.now());
-        System.out.println(agendadas);
-
-        for (Publicacao publicacao : agendadas) {
-            if (publicacao.getDataPublicacao().isBefore(OffsetDateTime.now())) {
-                Integracao integracao = publicacao.getEmpresa().getIntegracoes().stream()
-                        .filter(i -> TipoIntegracao.INSTAGRAM.equals(i.getTipo()))
-                        .findFirst()
-                        .orElse(null);
-
-                if (integracao != null) {
-                    Long containerId = criarContainer(integracao, publicacao);
-                    String postIdReturned = criarPublicacao(integracao, containerId);
-                    publicacao.setIdReturned(postIdReturned);
-                    publicacao.setStatus(StatusPublicacao.PUBLICADA);
-                    publicacaoRepository.save(publicacao);
+    /**
+     * Escreve as publicações da empresa em CSV direto na saída, lendo-as por cursor numa transação
+     * somente leitura e desanexando cada entidade depois de escrita, para que a memória não cresça
+     * com a quantidade de posts.
+     */
+    public void exportarCsv(UUID idEmpresa, OutputStream saida) throws IOException {
+        TransactionTemplate leitura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        leitura.setReadOnly(true);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        try {
+            leitura.executeWithoutResult(status -> {
+                try (Stream<Publicacao> publicacoes = publicacaoRepository.streamByEmpresaId(idEmpresa)) {
+                    writer.write(PublicacaoCsv.CABECALHO);
+                    for (Publicacao publicacao : (Iterable<Publicacao>) publicacoes::iterator) {
+                        PublicacaoCsv.escreverLinha(writer, publicacao);
+                        entityManager.detach(publicacao);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-            }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+        writer.flush();
+    }
+
+    public void salvarPostNoBanco(List<Publicacao> posts, Empresa empresa) {
+        if (posts.isEmpty()) return;
+
+        publicacaoRepository.upsertPorIdReturned(empresa.getId(), posts);
     }
 
-    public PublicacaoInsightDto buscaInsightPost(String id, UUID idEmpresa) {
-        Optional<Publicacao> postEntity = publicacaoRepository.findByIdReturned(id);
-        if (postEntity.isEmpty()) return null;
+    public CompletableFuture<PublicacaoInsightDto> buscaInsightPost(String id, UUID idEmpresa) {
+        Optional<Publicacao> postEntity = publicacaoRepository.findByIdReturnedAndEmpresaId(id, idEmpresa);
+        if (postEntity.isEmpty()) return CompletableFuture.completedFuture(null);
 
         String idNoInsta = postEntity.get().getIdReturned();
 
         Optional<Integracao> integracaoOpt = integracaoRepository.findByEmpresaId(idEmpresa);
-        if (integracaoOpt.isEmpty()) return null;
+        if (integracaoOpt.isEmpty()) return CompletableFuture.completedFuture(null);
 
         Integracao integracao = integracaoOpt.get();
 
-        String url = UriComponentsBuilder.fromHttpUrl(Graph.BASE_URL)
+        String url = UriComponentsBuilder.fromHttpUrl(graphUrlBase)
                 .pathSegment(idNoInsta, "insights")
                 .queryParam("date_preset", "today")
                 .queryParam("metric", "impressions,reach,likes,comments,shares,saved,profile_visits")
                 .queryParam("access_token", integracao.getAccessToken())
                 .toUriString();
 
-        try {
-            RestTemplate restTemplate = new RestTemplate();
-            String apiResponse = restTemplate.getForObject(url, String.class);
-
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode rootNode = objectMapper.readTree(apiResponse);
+        return graphClient.get(url).handle((response, erro) -> {
+            try {
+                if (erro != null) throw erro;
 
-            Map<String, ValueDto> metrics = new HashMap<>();
+                GraphInsightsResposta insights = graphJson.lerInsights(response.getBody());
 
-            JsonNode dataNode = rootNode.path("data");
-            if (dataNode.isArray()) {
-                for (JsonNode insight : dataNode) {
-                    String name = insight.path("name").asText();
-                    int value = insight.path("values").get(0).path("value").asInt();
+                Map<String, ValueDto> metrics = new HashMap<>();
 
-                    metrics.put(name, new ValueDto(value));
+                if (insights.getData() != null) {
+                    for (GraphInsightsResposta.Metrica metrica : insights.getData()) {
+                        metrics.put(metrica.getName(), new ValueDto(metrica.primeiroValor()));
+                    }
                 }
-            }
-
-            return new PublicacaoInsightDto(metrics);
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
 
-    private void excluirPostsRemovidos(List<String> idsPostsAtuais, Empresa empresa) {
-        List<Publicacao> postsBanco = publicacaoRepository.findByEmpresaId(empresa.getId());
-
-        List<Publicacao> postsParaExcluir = postsBanco.stream()
-                .filter(post -> !idsPostsAtuais.contains(post.getIdReturned()))
-                .collect(Collectors.toList());
+                return new PublicacaoInsightDto(metrics);
 
-        publicacaoRepository.deleteAll(postsParaExcluir);
+            } catch (Throwable e) {
+                e.printStackTrace();
+                return null;
+            }
+        });
     }
 }
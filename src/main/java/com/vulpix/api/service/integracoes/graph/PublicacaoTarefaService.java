@@ -0,0 +1,345 @@
+package com.vulpix.api.service.integracoes.graph;
+
+import com.vulpix.api.dto.graph.GraphContainerResposta;
+import com.vulpix.api.dto.publicacao.PublicacaoStatusDto;
+import com.vulpix.api.entity.Integracao;
+import com.vulpix.api.entity.Publicacao;
+import com.vulpix.api.exception.exceptions.EntidadeNaoProcessavelException;
+import com.vulpix.api.exception.exceptions.ErroInternoException;
+import com.vulpix.api.exception.exceptions.LimiteRequisicoesException;
+import com.vulpix.api.exception.exceptions.NaoEncontradoException;
+import com.vulpix.api.repository.PublicacaoRepository;
+import com.vulpix.api.utils.enums.StatusPublicacao;
+import com.vulpix.api.utils.enums.TipoIntegracao;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publicação em segundo plano. Posts imediatos são salvos como PENDENTE e os agendados entram quando o horário
+ * chega; em ambos os casos um worker do publicacaoExecutor cria o container e publica quando a Graph termina de
+ * processá-lo, reagendando a consulta ao container em vez de esperar na thread. Falhas temporárias voltam para
+ * PENDENTE com espera exponencial; cada mudança de status é enviada em /topic/empresas/{idEmpresa}/publicacoes.
+ */
+@Service
+public class PublicacaoTarefaService {
+    public static final String TOPICO_PUBLICACOES = "/topic/empresas/%s/publicacoes";
+
+    private static final long CONSULTA_CONTAINER_INICIAL_MS = 1000;
+    private static final long CONSULTA_CONTAINER_MAXIMA_MS = 15000;
+    private static final String CONTAINER_PUBLICADO = "PUBLISHED";
+
+    @Autowired
+    private PublicacaoRepository publicacaoRepository;
+
+    @Autowired
+    private PublicacaoService publicacaoService;
+
+    @Autowired
+    private GraphLimiteUso graphLimiteUso;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("taskScheduler")
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    @Qualifier("publicacaoExecutor")
+    private ThreadPoolTaskExecutor publicacaoExecutor;
+
+    @Value("${publicacao.executor.fila}")
+    private int capacidadeFila;
+
+    @Value("${publicacao.tentativas-maximas}")
+    private int tentativasMaximas;
+
+    @Value("${publicacao.reenvio.espera-inicial-segundos}")
+    private long esperaReenvioSegundos;
+
+    @Value("${publicacao.container.espera-maxima-segundos}")
+    private long esperaMaximaContainerSegundos;
+
+    @Value("${publicacao.travada-minutos}")
+    private long minutosTravada;
+
+    @Value("${publicacao.agendamento.lote}")
+    private int loteAgendamento;
+
+    private final Set<UUID> enfileiradas = ConcurrentHashMap.newKeySet();
+
+    public Publicacao criarTarefa(Publicacao publicacao) {
+        OffsetDateTime agora = OffsetDateTime.now();
+        publicacao.setStatus(StatusPublicacao.PENDENTE);
+        publicacao.setTentativas(0);
+        publicacao.setProximaTentativa(agora);
+        publicacao.setAtualizadoEm(agora);
+
+        Publicacao salva = publicacaoRepository.save(publicacao);
+        enfileirarPendente(salva.getId());
+        return salva;
+    }
+
+    public PublicacaoStatusDto buscarStatus(UUID idEmpresa, UUID idPublicacao) {
+        Publicacao publicacao = publicacaoRepository.findById(idPublicacao)
+                .filter(p -> p.getEmpresa().getId().equals(idEmpresa))
+                .orElseThrow(() -> new NaoEncontradoException("Publicação não encontrada."));
+
+        return toStatusDto(publicacao);
+    }
+
+    // Reenvia as pendentes cujo horário de nova tentativa chegou (ou que não couberam na fila)
+    // e devolve para a fila as que ficaram presas em PUBLICANDO, ex.: por reinício da aplicação
+    @Scheduled(fixedDelayString = "${publicacao.verificacao.intervalo-ms}")
+    public void verificarPendentes() {
+        OffsetDateTime agora = OffsetDateTime.now();
+
+        int liberadas = publicacaoRepository.liberarPublicacoesTravadas(agora.minusMinutes(minutosTravada), agora, tentativasMaximas);
+        if (liberadas > 0) {
+            System.out.println(liberadas + " publicações presas em andamento liberadas (de volta à fila ou em FALHA no limite de tentativas).");
+        }
+
+        int vagas = capacidadeFila - enfileiradas.size();
+        if (vagas <= 0) return;
+
+        publicacaoRepository.buscarPendentesDePublicacao(agora, vagas).forEach(this::enfileirarPendente);
+    }
+
+    // Só as agendadas vencidas são lidas, e a reserva acontece no próprio UPDATE; as chamadas à Graph
+    // ficam com os workers, fora de qualquer transação. Vários nós podem rodar isto ao mesmo tempo.
+    @Scheduled(fixedDelayString = "${publicacao.agendamento.intervalo-ms}")
+    public void despacharAgendadas() {
+        int vagas = capacidadeFila - enfileiradas.size();
+        if (vagas <= 0) return;
+
+        OffsetDateTime agora = OffsetDateTime.now();
+        List<UUID> reservadas = publicacaoRepository.reservarAgendadas(agora, Math.min(vagas, loteAgendamento));
+        if (reservadas.isEmpty()) return;
+
+        int devolvidas = 0;
+        for (Publicacao publicacao : publicacaoRepository.findComIntegracoesByIdIn(reservadas)) {
+            if (!enfileirar(publicacao.getId(), () -> executar(publicacao))) {
+                publicacaoRepository.devolverParaFila(publicacao.getId(), agora);
+                devolvidas++;
+            }
+        }
+
+        System.out.println(reservadas.size() + " publicações agendadas despachadas" +
+                (devolvidas > 0 ? " (" + devolvidas + " devolvidas para a fila de pendentes)" : "") + ".");
+    }
+
+    private void enfileirarPendente(UUID idPublicacao) {
+        if (!enfileirar(idPublicacao, () -> processar(idPublicacao))) {
+            System.out.println("Fila de publicação cheia; a publicação " + idPublicacao + " será enviada na próxima verificação.");
+        }
+    }
+
+    private boolean enfileirar(UUID idPublicacao, Runnable tarefa) {
+        if (!enfileiradas.add(idPublicacao)) return true;
+
+        try {
+            publicacaoExecutor.execute(() -> {
+                try {
+                    tarefa.run();
+                } finally {
+                    enfileiradas.remove(idPublicacao);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            enfileiradas.remove(idPublicacao);
+            return false;
+        }
+    }
+
+    private void processar(UUID idPublicacao) {
+        if (!publicacaoRepository.reservarParaPublicacao(idPublicacao, OffsetDateTime.now())) return;
+
+        publicacaoRepository.findComIntegracoesByIdIn(List.of(idPublicacao)).forEach(this::executar);
+    }
+
+    private void executar(Publicacao publicacao) {
+        notificar(publicacao);
+
+        boolean aguardandoContainer = false;
+        try {
+            if (publicar(publicacao)) {
+                publicacao.setStatus(StatusPublicacao.PUBLICADA);
+                publicacao.setDataPublicacao(OffsetDateTime.now());
+                publicacao.setErroPublicacao(null);
+                publicacao.setProximaTentativa(null);
+            } else {
+                aguardandoContainer = true;
+                agendarConsultaContainer(publicacao);
+            }
+        } catch (Exception e) {
+            registrarFalha(publicacao, e);
+        }
+
+        publicacao.setAtualizadoEm(OffsetDateTime.now());
+        publicacaoRepository.save(publicacao);
+
+        if (aguardandoContainer) {
+            UUID idPublicacao = publicacao.getId();
+            taskScheduler.schedule(() -> enfileirarPendente(idPublicacao), publicacao.getProximaTentativa().toInstant());
+            return;
+        }
+
+        meterRegistry.counter("vulpix.publicacao.resultados", "status", publicacao.getStatus().name().toLowerCase()).increment();
+        notificar(publicacao);
+    }
+
+    // Enquanto a Graph processa o container a publicação volta para a fila com a próxima consulta gravada em
+    // proxima_tentativa, em vez de prender a thread do worker; a consulta não conta como tentativa
+    private void agendarConsultaContainer(Publicacao publicacao) {
+        long decorrido = Duration.between(publicacao.getContainerCriadoEm(), OffsetDateTime.now()).toMillis();
+        long espera = Math.min(Math.max(decorrido, CONSULTA_CONTAINER_INICIAL_MS), CONSULTA_CONTAINER_MAXIMA_MS);
+
+        publicacao.setStatus(StatusPublicacao.PENDENTE);
+        publicacao.setTentativas(Math.max((publicacao.getTentativas() != null ? publicacao.getTentativas() : 1) - 1, 0));
+        publicacao.setProximaTentativa(OffsetDateTime.now().plus(Duration.ofMillis(espera)));
+    }
+
+    // Retorna false se o container ainda está em processamento
+    private boolean publicar(Publicacao publicacao) {
+        List<Integracao> integracoes = publicacao.getEmpresa().getIntegracoes();
+        Integracao integracao = (integracoes != null ? integracoes : List.<Integracao>of()).stream()
+                .filter(i -> TipoIntegracao.INSTAGRAM.equals(i.getTipo()))
+                .findFirst()
+                .orElseThrow(() -> new NaoEncontradoException("Integração com o Instagram não encontrada."));
+
+        if (!graphLimiteUso.tempoEspera(integracao).isZero()) {
+            throw new LimiteRequisicoesException("Limite de uso da Graph API atingido para a integração: " + integracao.getId());
+        }
+
+        // O container é guardado para que uma nova tentativa não crie outro
+        if (publicacao.getIdContainer() == null) {
+            Long idContainer = GraphClient.aguardar(publicacaoService.criarContainer(integracao, publicacao));
+            publicacao.setIdContainer(String.valueOf(idContainer));
+            publicacao.setContainerCriadoEm(OffsetDateTime.now());
+            publicacao.setAtualizadoEm(OffsetDateTime.now());
+            publicacaoRepository.save(publicacao);
+        } else if (publicacao.getContainerCriadoEm() == null) {
+            publicacao.setContainerCriadoEm(OffsetDateTime.now());
+        }
+
+        String statusContainer = verificarContainer(integracao, publicacao);
+        if (statusContainer == null) return false;
+
+        // PUBLISHED: a mídia já está no ar (ex.: o media_publish anterior respondeu mas o resultado não foi gravado),
+        // então não se publica de novo, só se recupera o id da mídia
+        if (CONTAINER_PUBLICADO.equals(statusContainer)) {
+            String idReturned = GraphClient.aguardar(publicacaoService.buscarMidiaPublicada(
+                    integracao, publicacao.getLegenda(), publicacao.getContainerCriadoEm())).orElse(null);
+            if (idReturned == null) {
+                System.out.println("Container " + publicacao.getIdContainer() + " já publicado; id da mídia não encontrado, " +
+                        "será preenchido pela sincronização.");
+            }
+            publicacao.setIdReturned(idReturned);
+            return true;
+        }
+
+        String idReturned = GraphClient.aguardar(
+                publicacaoService.criarPublicacao(integracao, Long.valueOf(publicacao.getIdContainer())));
+        publicacao.setIdReturned(idReturned);
+        return true;
+    }
+
+    // Retorna FINISHED ou PUBLISHED, ou null se o container ainda está em processamento
+    private String verificarContainer(Integracao integracao, Publicacao publicacao) {
+        String idContainer = publicacao.getIdContainer();
+        GraphContainerResposta container = GraphClient.aguardar(publicacaoService.buscarStatusContainer(integracao, idContainer));
+        String statusCode = container.getStatusCode();
+
+        if ("FINISHED".equals(statusCode) || CONTAINER_PUBLICADO.equals(statusCode)) return statusCode;
+
+        if ("EXPIRED".equals(statusCode)) {
+            descartarContainer(publicacao);
+            throw new ErroInternoException("Container " + idContainer + " expirou antes da publicação.");
+        }
+
+        if ("ERROR".equals(statusCode)) {
+            throw new EntidadeNaoProcessavelException("Container " + idContainer + " recusado pela Graph API: " + statusCode +
+                    (container.getStatus() != null ? " - " + container.getStatus() : ""));
+        }
+
+        if (publicacao.getContainerCriadoEm().plusSeconds(esperaMaximaContainerSegundos).isBefore(OffsetDateTime.now())) {
+            descartarContainer(publicacao);
+            throw new ErroInternoException("Tempo esgotado aguardando o processamento do container " + idContainer + ".");
+        }
+
+        return null;
+    }
+
+    // A próxima tentativa cria um container novo
+    private void descartarContainer(Publicacao publicacao) {
+        publicacao.setIdContainer(null);
+        publicacao.setContainerCriadoEm(null);
+    }
+
+    private void registrarFalha(Publicacao publicacao, Exception e) {
+        int tentativas = publicacao.getTentativas() != null ? publicacao.getTentativas() : 1;
+        publicacao.setErroPublicacao(e.getMessage());
+
+        if (isFalhaDefinitiva(e) || tentativas >= tentativasMaximas) {
+            publicacao.setStatus(StatusPublicacao.FALHA);
+            publicacao.setProximaTentativa(null);
+        } else {
+            long espera = esperaReenvioSegundos << Math.min(tentativas - 1, 10);
+            publicacao.setStatus(StatusPublicacao.PENDENTE);
+            publicacao.setProximaTentativa(OffsetDateTime.now().plusSeconds(espera));
+        }
+
+        System.err.println("Falha ao publicar " + publicacao.getId() + " (tentativa " + tentativas + "/" + tentativasMaximas +
+                ", status " + publicacao.getStatus() + "): " + e.getMessage());
+    }
+
+    // Mídia recusada, integração ausente e erros 4xx da Graph (exceto limite de uso) não se resolvem com nova tentativa
+    private boolean isFalhaDefinitiva(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof EntidadeNaoProcessavelException || causa instanceof NaoEncontradoException) return true;
+            if (causa instanceof HttpClientErrorException http) return !graphLimiteUso.isErroLimite(http);
+        }
+        return false;
+    }
+
+    private void notificar(Publicacao publicacao) {
+        try {
+            messagingTemplate.convertAndSend(String.format(TOPICO_PUBLICACOES, publicacao.getEmpresa().getId()), toStatusDto(publicacao));
+        } catch (MessagingException e) {
+            System.err.println("Não foi possível notificar o status da publicação " + publicacao.getId() + ": " + e.getMessage());
+        }
+    }
+
+    private PublicacaoStatusDto toStatusDto(Publicacao publicacao) {
+        return PublicacaoStatusDto.builder()
+                .id(publicacao.getId())
+                .status(publicacao.getStatus())
+                .idReturned(publicacao.getIdReturned())
+                .tentativas(publicacao.getTentativas() != null ? publicacao.getTentativas() : 0)
+                .erro(publicacao.getErroPublicacao())
+                .proximaTentativa(publicacao.getProximaTentativa())
+                .atualizadoEm(publicacao.getAtualizadoEm())
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.vulpix.api.service.integracoes.graph;
+
+import com.vulpix.api.repository.InsightRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "insights.resumo-diario.backfill.habilitado", havingValue = "true")
+public class ResumoDiarioBackfill {
+
+    @Autowired
+    private InsightRepository insightRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    @Qualifier("insightsExecutor")
+    private ThreadPoolTaskExecutor insightsExecutor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void agendarBackfill() {
+        insightsExecutor.execute(this::reconstruirResumos);
+    }
+
+    /**
+     * Reconstrói o resumo diário de cada empresa a partir do histórico de snapshots,
+     * uma empresa por vez para manter cada escrita curta.
+     */
+    public void reconstruirResumos() {
+        List<UUID> empresas = insightRepository.findEmpresasComInsights();
+        int reconstruidas = 0;
+
+        for (UUID idEmpresa : empresas) {
+            try {
+                insightRepository.reconstruirResumoDiario(idEmpresa);
+                eventPublisher.publishEvent(new InsightsAtualizadosEvent(idEmpresa));
+                reconstruidas++;
+            } catch (Exception e) {
+                System.err.println("Erro ao reconstruir resumo diário da empresa ID: " + idEmpresa);
+                e.printStackTrace();
+            }
+        }
+
+        System.out.println("Resumo diário reconstruído para " + reconstruidas + " de " + empresas.size() + " empresas.");
+    }
+}
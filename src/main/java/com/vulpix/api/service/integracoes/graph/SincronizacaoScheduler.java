@@ -0,0 +1,116 @@
+package com.vulpix.api.service.integracoes.graph;
+
+import com.vulpix.api.entity.Integracao;
+import com.vulpix.api.repository.IntegracaoRepository;
+import com.vulpix.api.utils.enums.TipoIntegracao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class SincronizacaoScheduler {
+
+    @Autowired
+    private IntegracaoRepository integracaoRepository;
+
+    @Autowired
+    private PublicacaoService publicacaoService;
+
+    @Autowired
+    @Qualifier("sincronizacaoExecutor")
+    private ThreadPoolTaskExecutor sincronizacaoExecutor;
+
+    @Value("${sincronizacao.validade-minutos}")
+    private long validadeMinutos;
+
+    // Integrações com sincronização em andamento; o valor indica se uma reconciliação chegou nesse meio tempo e
+    // deve rodar em seguida (ela não roda junto, pois a exclusão dos ausentes apagaria posts recém-sincronizados)
+    private final Map<UUID, Boolean> sincronizacoesEmAndamento = new ConcurrentHashMap<>();
+
+    @Scheduled(fixedDelayString = "${sincronizacao.verificacao.intervalo-ms}")
+    public void sincronizarIntegracoesDesatualizadas() {
+        LocalDateTime limite = LocalDateTime.now().minusMinutes(validadeMinutos);
+        List<Integracao> integracoes = integracaoRepository.findIntegracoesParaSincronizar(TipoIntegracao.INSTAGRAM, limite);
+
+        for (Integracao integracao : integracoes) {
+            agendarSincronizacao(integracao.getId(), false);
+        }
+    }
+
+    @Scheduled(cron = "${sincronizacao.reconciliacao.cron}")
+    public void reconciliarPosts() {
+        List<Integracao> integracoes = integracaoRepository.findByStatusAndTipo(true, TipoIntegracao.INSTAGRAM);
+
+        for (Integracao integracao : integracoes) {
+            agendarSincronizacao(integracao.getId(), true);
+        }
+    }
+
+    /**
+     * Retorna a data da última sincronização da empresa e, se solicitado ou se ela nunca foi
+     * sincronizada, enfileira uma sincronização sem bloquear a requisição.
+     */
+    public Optional<LocalDateTime> verificarSincronizacao(UUID idEmpresa, boolean forcarAtualizacao) {
+        Optional<Integracao> integracaoOpt = integracaoRepository.findByEmpresaId(idEmpresa);
+        if (integracaoOpt.isEmpty()) return Optional.empty();
+
+        Integracao integracao = integracaoOpt.get();
+        if (forcarAtualizacao || integracao.getUltimaSincronizacao() == null) {
+            agendarSincronizacao(integracao.getId(), false);
+        }
+
+        return Optional.ofNullable(integracao.getUltimaSincronizacao());
+    }
+
+    private void agendarSincronizacao(UUID idIntegracao, boolean reconciliacaoCompleta) {
+        boolean[] iniciada = {false};
+        sincronizacoesEmAndamento.compute(idIntegracao, (id, reconciliacaoPendente) -> {
+            if (reconciliacaoPendente == null) {
+                iniciada[0] = true;
+                return false;
+            }
+            return reconciliacaoPendente || reconciliacaoCompleta;
+        });
+        if (!iniciada[0]) return;
+
+        try {
+            sincronizacaoExecutor.execute(() -> sincronizar(idIntegracao, reconciliacaoCompleta));
+        } catch (TaskRejectedException e) {
+            sincronizacoesEmAndamento.remove(idIntegracao);
+            System.err.println("Fila de sincronização cheia, integração ID: " + idIntegracao);
+        }
+    }
+
+    private void sincronizar(UUID idIntegracao, boolean reconciliacaoCompleta) {
+        try {
+            Optional<Integracao> integracaoOpt = integracaoRepository.findById(idIntegracao);
+            if (integracaoOpt.isEmpty()) return;
+
+            if (reconciliacaoCompleta) {
+                publicacaoService.reconciliarPosts(integracaoOpt.get());
+                System.out.println("Posts reconciliados para a integração: " + idIntegracao);
+            } else {
+                publicacaoService.sincronizarPosts(integracaoOpt.get());
+                System.out.println("Posts sincronizados para a integração: " + idIntegracao);
+            }
+        } catch (Exception e) {
+            System.err.println("Erro ao sincronizar posts da integração ID: " + idIntegracao);
+            e.printStackTrace();
+        } finally {
+            if (Boolean.TRUE.equals(sincronizacoesEmAndamento.remove(idIntegracao))) {
+                agendarSincronizacao(idIntegracao, true);
+            }
+        }
+    }
+}
@@ -5,11 +5,10 @@ import com.vulpix.api.utils.enums.TipoIntegracao;
 import com.vulpix.api.entity.Integracao;
 import com.vulpix.api.repository.IntegracaoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpMethod;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDateTime;
@@ -17,18 +16,19 @@ import java.util.Map;
 
 @Service
 public class TokenService {
-    private final String BASE_URL_TOKEN = "https://graph.facebook.com/oauth/access_token";
+    @Value("${graph.url-token}")
+    private String urlToken;
 
     @Autowired
     private IntegracaoRepository integracaoRepository;
 
     @Autowired
-    private RestTemplate restTemplate;
+    private GraphClient graphClient;
 
     public Integracao renovarAccessToken(Integracao integracao) {
         if (!integracao.getStatus() || integracao.getTipo() != TipoIntegracao.INSTAGRAM) return integracao;
 
-        String url = UriComponentsBuilder.fromHttpUrl(BASE_URL_TOKEN)
+        String url = UriComponentsBuilder.fromHttpUrl(urlToken)
                 .queryParam("grant_type", "fb_exchange_token")
                 .queryParam("client_id", integracao.getClientId())
                 .queryParam("client_secret", integracao.getClientSecret())
@@ -36,7 +36,7 @@ public class TokenService {
                 .toUriString();
 
         try {
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, null, Map.class);
+            ResponseEntity<Map> response = GraphClient.aguardar(graphClient.get(url, Map.class));
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 String novoAccessToken = (String) response.getBody().get("access_token");
@@ -17,6 +17,9 @@ public class AutenticacaoService implements UserDetailsService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private EmpresaUsuarioService empresaUsuarioService;
+
     @Override
     public UserDetails loadUserByUsername(String username) {
         Optional<Usuario> usuarioOpt = usuarioRepository.findByEmail(username);
@@ -25,6 +28,6 @@ public class AutenticacaoService implements UserDetailsService {
             throw new NaoEncontradoException(String.format("Usuário: %s não encontrado.", username));
         }
 
-        return new UsuarioDetalhesDto(usuarioOpt.get());
+        return new UsuarioDetalhesDto(usuarioOpt.get(), empresaUsuarioService.buscarEmpresaDoUsuario(username));
     }
 }
\ No newline at end of file
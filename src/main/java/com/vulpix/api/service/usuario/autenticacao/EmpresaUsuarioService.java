@@ -0,0 +1,26 @@
+package com.vulpix.api.service.usuario.autenticacao;
+
+import com.vulpix.api.config.CacheConfig;
+import com.vulpix.api.dto.usuario.EmpresaUsuarioDto;
+import com.vulpix.api.repository.EmpresaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+@Service
+public class EmpresaUsuarioService {
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Cacheable(cacheNames = CacheConfig.EMPRESA_POR_USUARIO, key = "#email", unless = "#result == null")
+    public EmpresaUsuarioDto buscarEmpresaDoUsuario(String email) {
+        return empresaRepository.findIdByUsuarioEmail(email)
+                .map(EmpresaUsuarioDto::new)
+                .orElse(null);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.EMPRESA_POR_USUARIO, key = "#email")
+    public void invalidar(String email) {
+    }
+}
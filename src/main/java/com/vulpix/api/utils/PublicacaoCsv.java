@@ -0,0 +1,60 @@
+package com.vulpix.api.utils;
+
+import com.vulpix.api.entity.Publicacao;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public class PublicacaoCsv {
+    public static final String CABECALHO = "ID,Legenda,Tipo Mídia,URL Mídia,Data Publicação,Likes\r\n";
+
+    public static void escreverLinha(Writer writer, Publicacao post) throws IOException {
+        escreverCampo(writer, post.getIdReturned());
+        writer.write(',');
+        escreverCampo(writer, post.getLegenda());
+        writer.write(',');
+        escreverCampo(writer, post.getTipoMidia());
+        writer.write(',');
+        escreverCampo(writer, post.getUrlMidia());
+        writer.write(',');
+        if (post.getDataPublicacao() != null) {
+            writer.write(post.getDataPublicacao().toString());
+        }
+        writer.write(',');
+        writer.write(String.valueOf(post.getLikeCount() != null ? post.getLikeCount() : 0));
+        writer.write("\r\n");
+    }
+
+    /**
+     * Escreve o campo seguindo a RFC 4180: entre aspas (com aspas internas duplicadas) quando
+     * contém vírgula, aspas ou quebra de linha, o que é comum nas legendas.
+     */
+    public static void escreverCampo(Writer writer, String valor) throws IOException {
+        if (valor == null) return;
+
+        if (!precisaDeAspas(valor)) {
+            writer.write(valor);
+            return;
+        }
+
+        writer.write('"');
+        int inicio = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            if (valor.charAt(i) == '"') {
+                writer.write(valor, inicio, i - inicio + 1);
+                writer.write('"');
+                inicio = i + 1;
+            }
+        }
+        writer.write(valor, inicio, valor.length() - inicio);
+        writer.write('"');
+    }
+
+    private static boolean precisaDeAspas(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+}
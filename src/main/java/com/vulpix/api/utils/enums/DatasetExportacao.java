@@ -0,0 +1,26 @@
+package com.vulpix.api.utils.enums;
+
+import com.vulpix.api.exception.exceptions.RequisicaoInvalidaException;
+
+public enum DatasetExportacao {
+    PUBLICACOES("publicacoes"),
+    INSIGHTS("insights"),
+    CRIATIVOS("criativos");
+
+    private final String nome;
+
+    DatasetExportacao(String nome) {
+        this.nome = nome;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public static DatasetExportacao deNome(String nome) {
+        for (DatasetExportacao dataset : values()) {
+            if (dataset.nome.equalsIgnoreCase(nome)) return dataset;
+        }
+        throw new RequisicaoInvalidaException("Dataset de exportação inválido: " + nome);
+    }
+}
@@ -0,0 +1,31 @@
+package com.vulpix.api.utils.enums;
+
+import com.vulpix.api.exception.exceptions.RequisicaoInvalidaException;
+
+public enum FormatoExportacao {
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String extensao;
+    private final String tipoConteudo;
+
+    FormatoExportacao(String extensao, String tipoConteudo) {
+        this.extensao = extensao;
+        this.tipoConteudo = tipoConteudo;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    public String getTipoConteudo() {
+        return tipoConteudo;
+    }
+
+    public static FormatoExportacao deNome(String nome) {
+        for (FormatoExportacao formato : values()) {
+            if (formato.extensao.equalsIgnoreCase(nome)) return formato;
+        }
+        throw new RequisicaoInvalidaException("Formato de exportação inválido: " + nome);
+    }
+}
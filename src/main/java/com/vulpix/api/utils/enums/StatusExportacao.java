@@ -0,0 +1,8 @@
+package com.vulpix.api.utils.enums;
+
+public enum StatusExportacao {
+    PENDENTE,
+    EM_ANDAMENTO,
+    CONCLUIDA,
+    FALHA
+}
@@ -2,7 +2,10 @@ package com.vulpix.api.utils.enums;
 
 public enum StatusPublicacao {
     AGENDADA(0),
-    PUBLICADA(1);
+    PUBLICADA(1),
+    PENDENTE(2),
+    PUBLICANDO(3),
+    FALHA(4);
 
     private final int code;
 
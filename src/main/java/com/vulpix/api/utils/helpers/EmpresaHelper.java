@@ -1,9 +1,12 @@
 package com.vulpix.api.utils.helpers;
 
+import com.vulpix.api.dto.usuario.UsuarioDetalhesDto;
 import com.vulpix.api.entity.Empresa;
 import com.vulpix.api.exception.exceptions.NaoEncontradoException;
 import com.vulpix.api.repository.EmpresaRepository;
+import com.vulpix.api.service.usuario.autenticacao.UsuarioAutenticadoUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -11,6 +14,19 @@ public class EmpresaHelper {
     @Autowired
     EmpresaRepository empresaRepository;
 
+    @Autowired
+    UsuarioAutenticadoUtil usuarioAutenticadoUtil;
+
+    public Empresa buscarEmpresaAutenticada() {
+        UserDetails userDetails = usuarioAutenticadoUtil.getUsuarioDetalhes();
+
+        if (userDetails instanceof UsuarioDetalhesDto usuario && usuario.getEmpresaId() != null) {
+            return empresaRepository.getReferenceById(usuario.getEmpresaId());
+        }
+
+        return buscarEmpresaPeloUsuario(userDetails.getUsername());
+    }
+
     public Empresa buscarEmpresaPeloUsuario(String email) {
         return empresaRepository.findByUsuarioEmail(email).orElseThrow(() -> new NaoEncontradoException("Empresa não encontrada para o usuário autenticado."));
     }
@@ -11,7 +11,6 @@ public class Graph implements Integracao{
     private Boolean status;
 
     private String igUserId;
-    public static final String BASE_URL = "https://graph.facebook.com/v17.0/";
     public static final String FIELDS = "id,caption,media_type,media_url,timestamp,like_count";
 
     @Override
@@ -0,0 +1,84 @@
+package com.vulpix.api.service;
+
+import com.vulpix.api.dto.criativo.CriativoResponseDto;
+import com.vulpix.api.dto.criativo.CriativoUnitDto;
+import com.vulpix.api.entity.Criativo;
+import com.vulpix.api.service.integracoes.agentai.CriativosService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes da Classe CriativosService")
+class CriativosServiceTest {
+
+    private CriativosService criativosService;
+
+    @BeforeEach
+    void setUp() {
+        criativosService = new CriativosService();
+    }
+
+    private List<Criativo> criativos(int quantidade) {
+        List<Criativo> criativos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Criativo criativo = new Criativo();
+            criativo.setId(UUID.randomUUID());
+            criativo.setImageUrl("https://cdn/criativo-" + i + ".png");
+            criativo.setPrompt("prompt-" + i);
+            criativos.add(criativo);
+        }
+        return criativos;
+    }
+
+    @Test
+    @DisplayName("Dada uma lista vazia, então não deve haver conjuntos")
+    void testAgruparCriativos_ListaVazia() {
+        assertTrue(criativosService.agruparCriativos(List.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Dados quatro criativos, então deve haver um único conjunto com as quatro imagens")
+    void testAgruparCriativos_ConjuntoCompleto() {
+        List<Criativo> criativos = criativos(4);
+
+        List<CriativoResponseDto> conjuntos = criativosService.agruparCriativos(criativos);
+
+        assertEquals(1, conjuntos.size());
+        assertEquals("prompt-0", conjuntos.get(0).getPrompt());
+        assertEquals(4, conjuntos.get(0).getImages().size());
+    }
+
+    @Test
+    @DisplayName("Dados criativos que não fecham um múltiplo de quatro, então o último conjunto deve ficar incompleto e cada conjunto usa o prompt do primeiro criativo")
+    void testAgruparCriativos_UltimoConjuntoIncompleto() {
+        List<Criativo> criativos = criativos(9);
+
+        List<CriativoResponseDto> conjuntos = criativosService.agruparCriativos(criativos);
+
+        assertEquals(3, conjuntos.size());
+        assertEquals(List.of(4, 4, 1), conjuntos.stream().map(conjunto -> conjunto.getImages().size()).toList());
+        assertEquals(List.of("prompt-0", "prompt-4", "prompt-8"), conjuntos.stream().map(CriativoResponseDto::getPrompt).toList());
+    }
+
+    @Test
+    @DisplayName("Dado o agrupamento, então as imagens devem manter a ordem, o id e a URL de cada criativo")
+    void testAgruparCriativos_MantemOrdem() {
+        List<Criativo> criativos = criativos(6);
+
+        List<CriativoUnitDto> imagens = criativosService.agruparCriativos(criativos).stream()
+                .flatMap(conjunto -> conjunto.getImages().stream())
+                .toList();
+
+        assertEquals(criativos.size(), imagens.size());
+        for (int i = 0; i < criativos.size(); i++) {
+            assertEquals(criativos.get(i).getId(), imagens.get(i).getId());
+            assertEquals(criativos.get(i).getImageUrl(), imagens.get(i).getImage_url());
+        }
+    }
+}
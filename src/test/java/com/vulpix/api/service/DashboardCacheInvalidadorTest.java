@@ -0,0 +1,110 @@
+package com.vulpix.api.service;
+
+import com.vulpix.api.config.CacheConfig;
+import com.vulpix.api.entity.Empresa;
+import com.vulpix.api.repository.DashboardRepository;
+import com.vulpix.api.service.integracoes.graph.InsightsAtualizadosEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes da Classe DashboardCacheInvalidador")
+class DashboardCacheInvalidadorTest {
+
+    private AnnotationConfigApplicationContext contexto;
+    private DashboardService dashboardService;
+    private DashboardRepository dashboardRepository;
+    private CacheManager cacheManager;
+    private Empresa empresa;
+
+    @BeforeEach
+    void setUp() {
+        contexto = new AnnotationConfigApplicationContext(Configuracao.class);
+        dashboardService = contexto.getBean(DashboardService.class);
+        dashboardRepository = contexto.getBean(DashboardRepository.class);
+        cacheManager = contexto.getBean(CacheManager.class);
+
+        empresa = new Empresa();
+        empresa.setId(UUID.randomUUID());
+        when(dashboardRepository.findLatestInsightsForEachPostByEmpresa(any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        contexto.close();
+    }
+
+    @Test
+    @DisplayName("Dado que os insights da empresa foram atualizados, então a última métrica por post deve sair do cache")
+    void testInvalidar_UltimaMetricaPost() {
+        dashboardService.buscaMetricaUltimoPost(empresa);
+        dashboardService.buscaMetricaUltimoPost(empresa);
+        verify(dashboardRepository, times(1)).findLatestInsightsForEachPostByEmpresa(empresa.getId());
+
+        contexto.publishEvent(new InsightsAtualizadosEvent(empresa.getId()));
+
+        assertNull(cacheManager.getCache(CacheConfig.DASHBOARD_ULTIMA_METRICA_POST).get(empresa.getId() + ":"));
+        dashboardService.buscaMetricaUltimoPost(empresa);
+        verify(dashboardRepository, times(2)).findLatestInsightsForEachPostByEmpresa(empresa.getId());
+    }
+
+    @Test
+    @DisplayName("Dado que os insights de outra empresa foram atualizados, então o cache desta empresa deve ser mantido")
+    void testInvalidar_OutraEmpresa() {
+        dashboardService.buscaMetricaUltimoPost(empresa);
+
+        contexto.publishEvent(new InsightsAtualizadosEvent(UUID.randomUUID()));
+
+        assertNotNull(cacheManager.getCache(CacheConfig.DASHBOARD_ULTIMA_METRICA_POST).get(empresa.getId() + ":"));
+    }
+
+    @Test
+    @DisplayName("Dado que os insights da empresa foram atualizados, então as entradas por período também devem sair do cache")
+    void testInvalidar_MetricasPorDia() {
+        LocalDate inicio = LocalDate.of(2024, 11, 1);
+        LocalDate fim = LocalDate.of(2024, 11, 7);
+        String chave = empresa.getId() + ":" + inicio + ":" + fim;
+        cacheManager.getCache(CacheConfig.DASHBOARD_METRICAS_POR_DIA).put(chave, List.of());
+
+        contexto.publishEvent(new InsightsAtualizadosEvent(empresa.getId()));
+
+        assertNull(cacheManager.getCache(CacheConfig.DASHBOARD_METRICAS_POR_DIA).get(chave));
+    }
+
+    @Configuration
+    @EnableCaching
+    static class Configuracao {
+        @Bean
+        CacheManager cacheManager() {
+            return new CacheConfig().cacheManager("maximumSize=100", "maximumSize=100", "maximumSize=100", "maximumSize=100");
+        }
+
+        @Bean
+        DashboardRepository dashboardRepository() {
+            return mock(DashboardRepository.class);
+        }
+
+        @Bean
+        DashboardService dashboardService() {
+            return new DashboardService();
+        }
+
+        @Bean
+        DashboardCacheInvalidador dashboardCacheInvalidador() {
+            return new DashboardCacheInvalidador();
+        }
+    }
+}
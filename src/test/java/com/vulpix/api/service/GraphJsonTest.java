@@ -0,0 +1,122 @@
+package com.vulpix.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vulpix.api.entity.Publicacao;
+import com.vulpix.api.service.integracoes.graph.GraphClient;
+import com.vulpix.api.service.integracoes.graph.GraphJson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes da Classe GraphJson")
+class GraphJsonTest {
+
+    private GraphJson graphJson;
+
+    @BeforeEach
+    void setUp() {
+        graphJson = new GraphJson(new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Dada uma página de mídias, então deve ler os posts e o link da próxima página")
+    void testLerPaginaMidias() throws IOException {
+        String corpo = """
+                {
+                  "data": [
+                    {"id": "1", "caption": "Primeiro, \\"post\\"", "media_type": "IMAGE", "media_url": "https://cdn/1.jpg",
+                     "timestamp": "2024-11-01T10:00:00+0000", "like_count": 12},
+                    {"id": "2", "media_type": "CAROUSEL_ALBUM", "timestamp": "2024-11-02T08:30:00-03:00", "like_count": null,
+                     "children": {"data": [{"id": "21"}, {"id": "22"}]}, "permalink": "https://instagram.com/p/2"}
+                  ],
+                  "paging": {"cursors": {"before": "A", "after": "B"}, "next": "https://graph/next?after=B"}
+                }
+                """;
+
+        GraphClient.Pagina<Publicacao> pagina = graphJson.lerPaginaMidias(corpo);
+
+        assertEquals("https://graph/next?after=B", pagina.proximaPagina());
+        assertEquals(2, pagina.itens().size());
+
+        Publicacao primeiro = pagina.itens().get(0);
+        assertEquals("1", primeiro.getIdReturned());
+        assertEquals("Primeiro, \"post\"", primeiro.getLegenda());
+        assertEquals("IMAGE", primeiro.getTipoMidia());
+        assertEquals("https://cdn/1.jpg", primeiro.getUrlMidia());
+        assertEquals(OffsetDateTime.of(2024, 11, 1, 10, 0, 0, 0, ZoneOffset.UTC), primeiro.getDataPublicacao());
+        assertEquals(12, primeiro.getLikeCount());
+
+        Publicacao segundo = pagina.itens().get(1);
+        assertEquals("2", segundo.getIdReturned());
+        assertNull(segundo.getLegenda());
+        assertNull(segundo.getLikeCount());
+        assertEquals(OffsetDateTime.of(2024, 11, 2, 8, 30, 0, 0, ZoneOffset.ofHours(-3)), segundo.getDataPublicacao());
+    }
+
+    @Test
+    @DisplayName("Dada a última página, então não deve haver próxima página")
+    void testLerPaginaMidias_UltimaPagina() throws IOException {
+        GraphClient.Pagina<Publicacao> pagina = graphJson.lerPaginaMidias(
+                "{\"data\": [{\"id\": \"9\"}], \"paging\": {\"cursors\": {\"before\": \"A\"}}}");
+
+        assertEquals(1, pagina.itens().size());
+        assertNull(pagina.proximaPagina());
+    }
+
+    @Test
+    @DisplayName("Dada uma resposta com uma única mídia em data, então deve ler o post")
+    void testLerPaginaMidias_DataComoObjeto() throws IOException {
+        GraphClient.Pagina<Publicacao> pagina = graphJson.lerPaginaMidias("{\"data\": {\"id\": \"5\", \"caption\": \"único\"}}");
+
+        assertEquals(1, pagina.itens().size());
+        assertEquals("5", pagina.itens().get(0).getIdReturned());
+        assertEquals("único", pagina.itens().get(0).getLegenda());
+    }
+
+    @Test
+    @DisplayName("Dado um corpo que não é um objeto JSON, então deve retornar uma página vazia")
+    void testLerPaginaMidias_CorpoInesperado() throws IOException {
+        GraphClient.Pagina<Publicacao> pagina = graphJson.lerPaginaMidias("[]");
+
+        assertTrue(pagina.itens().isEmpty());
+        assertNull(pagina.proximaPagina());
+    }
+
+    @Test
+    @DisplayName("Dado um timestamp inválido, então deve lançar erro de leitura")
+    void testLerPaginaMidias_TimestampInvalido() {
+        assertThrows(IOException.class,
+                () -> graphJson.lerPaginaMidias("{\"data\": [{\"id\": \"1\", \"timestamp\": \"ontem\"}]}"));
+    }
+
+    @Test
+    @DisplayName("Dada a resposta de um batch, então deve retornar o body de cada item na ordem das operações")
+    void testLerCorposLote() throws IOException {
+        String corpo = """
+                [
+                  {"code": 200, "headers": [{"name": "Content-Type", "value": "application/json"}], "body": "{\\"id\\":\\"1\\"}"},
+                  null,
+                  {"code": 500, "headers": []},
+                  {"code": 200, "body": "{\\"data\\":[]}"}
+                ]
+                """;
+
+        List<String> corpos = graphJson.lerCorposLote(corpo);
+
+        assertEquals(Arrays.asList("{\"id\":\"1\"}", null, null, "{\"data\":[]}"), corpos);
+    }
+
+    @Test
+    @DisplayName("Dado um corpo de batch que não é um array, então deve retornar uma lista vazia")
+    void testLerCorposLote_CorpoInesperado() throws IOException {
+        assertTrue(graphJson.lerCorposLote("{\"error\": {\"code\": 1}}").isEmpty());
+    }
+}
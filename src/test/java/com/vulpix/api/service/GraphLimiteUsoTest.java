@@ -0,0 +1,159 @@
+package com.vulpix.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vulpix.api.entity.Integracao;
+import com.vulpix.api.service.integracoes.graph.GraphJson;
+import com.vulpix.api.service.integracoes.graph.GraphLimiteUso;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes da Classe GraphLimiteUso")
+class GraphLimiteUsoTest {
+
+    private GraphLimiteUso graphLimiteUso;
+    private Integracao integracao;
+
+    @BeforeEach
+    void setUp() {
+        graphLimiteUso = new GraphLimiteUso();
+        ReflectionTestUtils.setField(graphLimiteUso, "graphJson", new GraphJson(new ObjectMapper()));
+
+        integracao = new Integracao();
+        integracao.setClientId("app-1");
+        integracao.setIgUserId("conta-1");
+    }
+
+    private HttpHeaders headers(String nome, String valor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(nome, valor);
+        return headers;
+    }
+
+    private void assertEntre(Duration minimo, Duration maximo, Duration valor) {
+        assertTrue(valor.compareTo(minimo) >= 0 && valor.compareTo(maximo) <= 0, "espera fora da faixa: " + valor);
+    }
+
+    @Test
+    @DisplayName("Dado que não houve registro de uso, então não deve haver espera")
+    void testTempoEspera_SemRegistro() {
+        graphLimiteUso.registrar(integracao, null);
+        graphLimiteUso.registrar(integracao, new HttpHeaders());
+
+        assertEquals(Duration.ZERO, graphLimiteUso.tempoEspera(integracao));
+    }
+
+    @Test
+    @DisplayName("Dado um uso do app abaixo de 75%, então não deve haver espera")
+    void testTempoEspera_AbaixoDoLimiar() {
+        graphLimiteUso.registrar(integracao, headers(GraphLimiteUso.HEADER_USO_APP,
+                "{\"call_count\":75,\"total_cputime\":10,\"total_time\":40}"));
+
+        assertEquals(Duration.ZERO, graphLimiteUso.tempoEspera(integracao));
+    }
+
+    @Test
+    @DisplayName("Dado um uso do app acima de 75%, então a espera deve crescer com o maior percentual")
+    void testTempoEspera_UsoDoApp() {
+        graphLimiteUso.registrar(integracao, headers(GraphLimiteUso.HEADER_USO_APP,
+                "{\"call_count\":20,\"total_cputime\":80,\"total_time\":40}"));
+
+        assertEquals(Duration.ofMillis(5 * 400), graphLimiteUso.tempoEspera(integracao));
+    }
+
+    @Test
+    @DisplayName("Dado um uso do app de 100%, então a integração deve ficar bloqueada pelo tempo padrão")
+    void testTempoEspera_UsoDoAppEsgotado() {
+        graphLimiteUso.registrar(integracao, headers(GraphLimiteUso.HEADER_USO_APP, "{\"call_count\":100}"));
+
+        assertEntre(Duration.ofMinutes(4).plusSeconds(55), Duration.ofMinutes(5), graphLimiteUso.tempoEspera(integracao));
+    }
+
+    @Test
+    @DisplayName("Dado o uso da conta, então deve valer o maior percentual entre os registros")
+    void testTempoEspera_UsoDaConta() {
+        graphLimiteUso.registrar(integracao, headers(GraphLimiteUso.HEADER_USO_CONTA, """
+                {"conta-1": [
+                    {"type": "instagram", "call_count": 50, "total_cputime": 10, "total_time": 10, "estimated_time_to_regain_access": 0},
+                    {"type": "ads_insights", "call_count": 5, "total_cputime": 90, "total_time": 30, "estimated_time_to_regain_access": 0}
+                ]}
+                """));
+
+        assertEquals(Duration.ofMillis(15 * 400), graphLimiteUso.tempoEspera(integracao));
+    }
+
+    @Test
+    @DisplayName("Dado um tempo estimado para liberar a conta, então a espera deve seguir esse tempo")
+    void testTempoEspera_TempoParaLiberar() {
+        graphLimiteUso.registrar(integracao, headers(GraphLimiteUso.HEADER_USO_CONTA,
+                "{\"conta-1\": [{\"call_count\": 30, \"estimated_time_to_regain_access\": 3}]}"));
+
+        assertEntre(Duration.ofMinutes(2).plusSeconds(55), Duration.ofMinutes(3), graphLimiteUso.tempoEspera(integracao));
+    }
+
+    @Test
+    @DisplayName("Dado o uso do app e da conta, então deve valer a maior espera entre os dois")
+    void testTempoEspera_MaiorEntreAppEConta() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(GraphLimiteUso.HEADER_USO_APP, "{\"call_count\":85}");
+        headers.add(GraphLimiteUso.HEADER_USO_CONTA, "{\"conta-1\": [{\"call_count\": 80}]}");
+        graphLimiteUso.registrar(integracao, headers);
+
+        assertEquals(Duration.ofMillis(10 * 400), graphLimiteUso.tempoEspera(integracao));
+    }
+
+    @Test
+    @DisplayName("Dado um header com JSON inválido, então ele deve ser ignorado")
+    void testRegistrar_HeaderInvalido() {
+        graphLimiteUso.registrar(integracao, headers(GraphLimiteUso.HEADER_USO_APP, "nao-e-json"));
+
+        assertEquals(Duration.ZERO, graphLimiteUso.tempoEspera(integracao));
+    }
+
+    @Test
+    @DisplayName("Dado um novo registro de uso, então ele deve substituir o anterior")
+    void testRegistrar_SubstituiUsoAnterior() {
+        graphLimiteUso.registrar(integracao, headers(GraphLimiteUso.HEADER_USO_APP, "{\"call_count\":95}"));
+        graphLimiteUso.registrar(integracao, headers(GraphLimiteUso.HEADER_USO_APP, "{\"call_count\":10}"));
+
+        assertEquals(Duration.ZERO, graphLimiteUso.tempoEspera(integracao));
+    }
+
+    @Test
+    @DisplayName("Dado um bloqueio registrado, então a conta deve esperar o tempo padrão")
+    void testRegistrarBloqueio() {
+        graphLimiteUso.registrarBloqueio(integracao);
+
+        assertEntre(Duration.ofMinutes(4).plusSeconds(55), Duration.ofMinutes(5), graphLimiteUso.tempoEspera(integracao));
+    }
+
+    @Test
+    @DisplayName("Dado um erro 429 ou um código de limite da Graph, então deve ser tratado como erro de limite")
+    void testIsErroLimite() {
+        assertTrue(graphLimiteUso.isErroLimite(erro(HttpStatus.TOO_MANY_REQUESTS, "")));
+        assertTrue(graphLimiteUso.isErroLimite(erro(HttpStatus.BAD_REQUEST, "{\"error\":{\"code\":4,\"message\":\"limit\"}}")));
+        assertTrue(graphLimiteUso.isErroLimite(erro(HttpStatus.FORBIDDEN, "{\"error\":{\"code\":80002}}")));
+    }
+
+    @Test
+    @DisplayName("Dado um erro que não é de limite, então não deve ser tratado como erro de limite")
+    void testIsErroLimite_OutrosErros() {
+        assertFalse(graphLimiteUso.isErroLimite(erro(HttpStatus.BAD_REQUEST, "{\"error\":{\"code\":100}}")));
+        assertFalse(graphLimiteUso.isErroLimite(erro(HttpStatus.BAD_REQUEST, "<html>erro</html>")));
+        assertFalse(graphLimiteUso.isErroLimite(erro(HttpStatus.UNAUTHORIZED, "")));
+    }
+
+    private HttpClientErrorException erro(HttpStatus status, String corpo) {
+        return HttpClientErrorException.create(status, status.getReasonPhrase(), new HttpHeaders(),
+                corpo.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+}
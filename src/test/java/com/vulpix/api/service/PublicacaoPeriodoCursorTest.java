@@ -0,0 +1,142 @@
+package com.vulpix.api.service;
+
+import com.vulpix.api.dto.publicacao.PublicacoesPorPeriodoDto;
+import com.vulpix.api.entity.Publicacao;
+import com.vulpix.api.exception.exceptions.RequisicaoInvalidaException;
+import com.vulpix.api.repository.PublicacaoRepository;
+import com.vulpix.api.service.integracoes.graph.PublicacaoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do cursor de PublicacaoService.buscarPostsPorPeriodo")
+class PublicacaoPeriodoCursorTest {
+
+    private static final LocalDate DATA_INICIO = LocalDate.of(2024, 11, 1);
+    private static final LocalDate DATA_FIM = LocalDate.of(2024, 11, 30);
+    private static final OffsetDateTime INICIO = OffsetDateTime.of(2024, 11, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime FIM = OffsetDateTime.of(2024, 12, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private PublicacaoRepository publicacaoRepository;
+
+    @InjectMocks
+    private PublicacaoService publicacaoService;
+
+    private UUID idEmpresa;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        idEmpresa = UUID.randomUUID();
+    }
+
+    private List<Publicacao> publicacoes(int quantidade) {
+        List<Publicacao> publicacoes = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Publicacao publicacao = new Publicacao();
+            publicacao.setId(UUID.randomUUID());
+            publicacao.setIdReturned("post-" + i);
+            publicacao.setDataPublicacao(OffsetDateTime.of(2024, 11, 1 + i, 9, 15, 30, 0, ZoneOffset.ofHours(-3)));
+            publicacoes.add(publicacao);
+        }
+        return publicacoes;
+    }
+
+    @Test
+    @DisplayName("Dada uma página cheia, então o cursor retornado deve continuar a partir da última publicação")
+    void testCursor_IdaEVolta() {
+        List<Publicacao> primeiraPagina = publicacoes(3);
+        when(publicacaoRepository.findPorPeriodo(idEmpresa, INICIO, FIM, 3)).thenReturn(primeiraPagina);
+
+        PublicacoesPorPeriodoDto resultado = publicacaoService.buscarPostsPorPeriodo(idEmpresa, DATA_INICIO, DATA_FIM, null, 2);
+
+        assertEquals(2, resultado.getPosts().size());
+        assertEquals("post-1", resultado.getPosts().get(1).getId());
+        assertNotNull(resultado.getProximoCursor());
+
+        Publicacao ultima = primeiraPagina.get(1);
+        when(publicacaoRepository.findPorPeriodoAposCursor(any(), any(), any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        PublicacoesPorPeriodoDto proxima = publicacaoService.buscarPostsPorPeriodo(idEmpresa, DATA_INICIO, DATA_FIM,
+                resultado.getProximoCursor(), 2);
+
+        verify(publicacaoRepository).findPorPeriodoAposCursor(idEmpresa, INICIO, FIM, ultima.getDataPublicacao(), ultima.getId(), 3);
+        assertTrue(proxima.getPosts().isEmpty());
+        assertNull(proxima.getProximoCursor());
+    }
+
+    @Test
+    @DisplayName("Dado um cursor, então ele deve ser seguro para URL e sem preenchimento")
+    void testCursor_SeguroParaUrl() {
+        when(publicacaoRepository.findPorPeriodo(idEmpresa, INICIO, FIM, 2)).thenReturn(publicacoes(2));
+
+        String cursor = publicacaoService.buscarPostsPorPeriodo(idEmpresa, DATA_INICIO, DATA_FIM, null, 1).getProximoCursor();
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+    }
+
+    @Test
+    @DisplayName("Dada a última página, então não deve haver próximo cursor")
+    void testCursor_UltimaPagina() {
+        when(publicacaoRepository.findPorPeriodo(idEmpresa, INICIO, FIM, 3)).thenReturn(publicacoes(2));
+
+        PublicacoesPorPeriodoDto resultado = publicacaoService.buscarPostsPorPeriodo(idEmpresa, DATA_INICIO, DATA_FIM, "  ", 2);
+
+        assertEquals(2, resultado.getPosts().size());
+        assertNull(resultado.getProximoCursor());
+        verify(publicacaoRepository, never()).findPorPeriodoAposCursor(any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Dado um cursor inválido, então deve lançar RequisicaoInvalidaException")
+    void testCursor_Invalido() {
+        String semSeparador = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2024-11-01T10:00Z".getBytes(StandardCharsets.UTF_8));
+        String idInvalido = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2024-11-01T10:00Z|nao-e-uuid".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : List.of("não é base64!", semSeparador, idInvalido)) {
+            assertThrows(RequisicaoInvalidaException.class,
+                    () -> publicacaoService.buscarPostsPorPeriodo(idEmpresa, DATA_INICIO, DATA_FIM, cursor, 10));
+        }
+        verifyNoInteractions(publicacaoRepository);
+    }
+
+    @Test
+    @DisplayName("Dado um limite fora da faixa, então o tamanho da página deve ficar entre 1 e 200")
+    void testLimite_Ajustado() {
+        when(publicacaoRepository.findPorPeriodo(eq(idEmpresa), eq(INICIO), eq(FIM), anyInt())).thenReturn(List.of());
+
+        publicacaoService.buscarPostsPorPeriodo(idEmpresa, DATA_INICIO, DATA_FIM, null, 0);
+        publicacaoService.buscarPostsPorPeriodo(idEmpresa, DATA_INICIO, DATA_FIM, null, 5000);
+
+        verify(publicacaoRepository).findPorPeriodo(idEmpresa, INICIO, FIM, 2);
+        verify(publicacaoRepository).findPorPeriodo(idEmpresa, INICIO, FIM, 201);
+    }
+
+    @Test
+    @DisplayName("Dada uma data de início posterior à data de fim, então deve lançar RequisicaoInvalidaException")
+    void testPeriodo_Invalido() {
+        assertThrows(RequisicaoInvalidaException.class,
+                () -> publicacaoService.buscarPostsPorPeriodo(idEmpresa, DATA_FIM, DATA_INICIO, null, 10));
+    }
+}
@@ -0,0 +1,84 @@
+package com.vulpix.api.utils;
+
+import com.vulpix.api.entity.Publicacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes da Classe PublicacaoCsv")
+class PublicacaoCsvTest {
+
+    private String escrever(String valor) throws IOException {
+        StringWriter writer = new StringWriter();
+        PublicacaoCsv.escreverCampo(writer, valor);
+        return writer.toString();
+    }
+
+    @Test
+    @DisplayName("Dado um campo sem caracteres especiais, então deve ser escrito sem aspas")
+    void testEscreverCampo_SemCaracteresEspeciais() throws IOException {
+        assertEquals("Legenda simples", escrever("Legenda simples"));
+    }
+
+    @Test
+    @DisplayName("Dado um campo nulo ou vazio, então nada deve ser escrito")
+    void testEscreverCampo_NuloOuVazio() throws IOException {
+        assertEquals("", escrever(null));
+        assertEquals("", escrever(""));
+    }
+
+    @Test
+    @DisplayName("Dado um campo com vírgula, então deve ser escrito entre aspas")
+    void testEscreverCampo_ComVirgula() throws IOException {
+        assertEquals("\"promoção, hoje\"", escrever("promoção, hoje"));
+    }
+
+    @Test
+    @DisplayName("Dado um campo com aspas, então elas devem ser duplicadas e o campo escrito entre aspas")
+    void testEscreverCampo_ComAspas() throws IOException {
+        assertEquals("\"o \"\"melhor\"\" café\"", escrever("o \"melhor\" café"));
+        assertEquals("\"\"\"\"", escrever("\""));
+        assertEquals("\"fim\"\"\"", escrever("fim\""));
+    }
+
+    @Test
+    @DisplayName("Dado um campo com quebra de linha, então deve ser escrito entre aspas sem alterar a quebra")
+    void testEscreverCampo_ComQuebraDeLinha() throws IOException {
+        assertEquals("\"linha 1\nlinha 2\"", escrever("linha 1\nlinha 2"));
+        assertEquals("\"linha 1\r\nlinha 2\"", escrever("linha 1\r\nlinha 2"));
+        assertEquals("\"só\rCR\"", escrever("só\rCR"));
+    }
+
+    @Test
+    @DisplayName("Dada uma publicação, então a linha deve ter os seis campos e terminar com CRLF")
+    void testEscreverLinha() throws IOException {
+        Publicacao publicacao = new Publicacao();
+        publicacao.setIdReturned("17890");
+        publicacao.setLegenda("Novidade, \"confira\"");
+        publicacao.setTipoMidia("IMAGE");
+        publicacao.setUrlMidia("https://cdn.exemplo.com/a.jpg");
+        publicacao.setDataPublicacao(OffsetDateTime.of(2024, 11, 1, 10, 0, 0, 0, ZoneOffset.UTC));
+        publicacao.setLikeCount(42);
+
+        StringWriter writer = new StringWriter();
+        PublicacaoCsv.escreverLinha(writer, publicacao);
+
+        assertEquals("17890,\"Novidade, \"\"confira\"\"\",IMAGE,https://cdn.exemplo.com/a.jpg,2024-11-01T10:00Z,42\r\n",
+                writer.toString());
+    }
+
+    @Test
+    @DisplayName("Dada uma publicação sem dados opcionais, então os campos ficam vazios e os likes zerados")
+    void testEscreverLinha_CamposNulos() throws IOException {
+        StringWriter writer = new StringWriter();
+        PublicacaoCsv.escreverLinha(writer, new Publicacao());
+
+        assertEquals(",,,,,0\r\n", writer.toString());
+    }
+}